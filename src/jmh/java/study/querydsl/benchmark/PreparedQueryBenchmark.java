@@ -0,0 +1,95 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.bulk.BulkIngestionService;
+import study.querydsl.bulk.MemberImportRow;
+import study.querydsl.entity.Member;
+import study.querydsl.query.PreparedQuery;
+import study.querydsl.query.PreparedQueryFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static study.querydsl.entity.QMember.member;
+
+/* search() 형태 조회 : 매번 QueryDSL 쿼리 생성/직렬화 vs PreparedQuery (값만 바인딩)
+ * ./gradlew jmh -PjmhInclude=PreparedQueryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PreparedQueryBenchmark {
+
+    private final Param<String> username = new Param<>(String.class, "username");
+    private final Param<Integer> age = new Param<>(Integer.class, "age");
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory emf;
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+    private PreparedQuery<Member> preparedSearch;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--decorator.datasource.p6spy.enable-logging=false");
+        context.getBean(BulkIngestionService.class).importMembers(IntStream.range(0, 10_000)
+                .mapToObj(i -> new MemberImportRow("member" + i, i % 100, null)));
+
+        //공유 EntityManager 프록시가 이 스레드에서 하나의 영속성 컨텍스트를 사용하도록 바인딩
+        emf = context.getBean(EntityManagerFactory.class);
+        em = emf.createEntityManager();
+        TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+
+        queryFactory = context.getBean(JPAQueryFactory.class);
+        preparedSearch = context.getBean(PreparedQueryFactory.class).prepare(queryFactory
+                .selectFrom(member)
+                .where(member.username.eq(username), member.age.eq(age)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        TransactionSynchronizationManager.unbindResource(emf);
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public Member dynamicQuery() {
+        int i = nextIndex();
+        Member result = queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member" + i), member.age.eq(i % 100))
+                .fetchOne();
+        em.clear();
+        return result;
+    }
+
+    @Benchmark
+    public Member preparedQuery() {
+        int i = nextIndex();
+        Member result = preparedSearch
+                .bind(username, "member" + i)
+                .bind(age, i % 100)
+                .fetchOne();
+        em.clear();
+        return result;
+    }
+
+    private int nextIndex() {
+        sequence = (sequence + 1) % 10_000;
+        return sequence;
+    }
+}
@@ -0,0 +1,58 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.jpa.HQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.entity.Member;
+
+import static study.querydsl.entity.QMember.member;
+
+/* 호출마다 new JPAQueryFactory(em) vs 싱글톤 factory + 미리 지정한 템플릿
+ * 쿼리 생성 + JPQL 직렬화까지만 측정 (DB 실행 제외), gc.alloc.rate.norm으로 할당량 비교
+ * ./gradlew jmh -PjmhInclude=QueryFactoryBenchmark
+ */
+@State(Scope.Benchmark)
+public class QueryFactoryBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private JPAQueryFactory sharedFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--decorator.datasource.p6spy.enable-logging=false");
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        sharedFactory = new JPAQueryFactory(HQLTemplates.DEFAULT, em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    @Benchmark
+    public String factoryPerCall() {
+        JPAQuery<Member> query = new JPAQueryFactory(em)
+                .selectFrom(member)
+                .where(member.username.eq("member1"), member.age.eq(10));
+        return query.toString();
+    }
+
+    @Benchmark
+    public String sharedFactory() {
+        JPAQuery<Member> query = sharedFactory
+                .selectFrom(member)
+                .where(member.username.eq("member1"), member.age.eq(10));
+        return query.toString();
+    }
+}
@@ -0,0 +1,188 @@
+package study.querydsl.benchmark;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.CaseBuilder;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.querydsl.QuerydslApplication;
+import study.querydsl.bulk.BulkIngestionService;
+import study.querydsl.bulk.MemberImportRow;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.QMember;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* QuerydslBasicTest의 쿼리 모양별 기준 성능
+ * 처리량(thrpt), 지연시간 분포(sample → p50/p90/p99), 할당량(gc 프로파일러 : gc.alloc.rate.norm)
+ * ./gradlew jmh -PjmhInclude=QueryShapeBenchmark
+ */
+@State(Scope.Benchmark)
+public class QueryShapeBenchmark {
+
+    @Param({"10000"})
+    public int members;
+
+    @Param({"100"})
+    public int teams;
+
+    private ConfigurableApplicationContext context;
+    private EntityManager em;
+    private JPAQueryFactory queryFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(QuerydslApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false", "--decorator.datasource.p6spy.enable-logging=false");
+
+        //세타 조인용으로 팀 이름과 같은 이름의 회원도 추가
+        Stream<MemberImportRow> rows = Stream.concat(
+                IntStream.range(0, members)
+                        .mapToObj(i -> new MemberImportRow("member" + i, i % 100, "team" + (i % teams))),
+                Stream.of(new MemberImportRow("team0", 0, null), new MemberImportRow("team1", 0, null)));
+        context.getBean(BulkIngestionService.class).importMembers(rows);
+
+        em = context.getBean(EntityManagerFactory.class).createEntityManager();
+        queryFactory = new JPAQueryFactory(em);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        em.close();
+        context.close();
+    }
+
+    /* 매 호출마다 영속성 컨텍스트를 비워서 이전 호출의 1차 캐시 효과를 제거 */
+    private <T> T run(Supplier<T> query) {
+        try {
+            return query.get();
+        } finally {
+            em.clear();
+        }
+    }
+
+    @Benchmark
+    public Member equalitySearch() {
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .where(member.username.eq("member1"), member.age.eq(1))
+                .fetchOne());
+    }
+
+    @Benchmark
+    public List<Member> sort() {
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .where(member.age.eq(50))
+                .orderBy(member.age.desc(), member.username.asc().nullsLast())
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> paging() {
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .orderBy(member.username.desc())
+                .offset(1)
+                .limit(20)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Tuple> aggregation() {
+        return run(() -> queryFactory
+                .select(member.count(),
+                        member.age.sum(),
+                        member.age.avg(),
+                        member.age.max(),
+                        member.age.min())
+                .from(member)
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> innerJoin() {
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .join(member.team, team)
+                .where(team.name.eq("team1"))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> thetaJoin() {
+        return run(() -> queryFactory
+                .select(member)
+                .from(member, team)
+                .where(member.username.eq(team.name))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Tuple> onFilterJoin() {
+        return run(() -> queryFactory
+                .select(member, team)
+                .from(member)
+                .leftJoin(member.team, team).on(team.name.eq("team1"))
+                .where(member.age.eq(1))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> fetchJoin() {
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .where(member.age.eq(1))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> subQueryEq() {
+        QMember memberSub = new QMember("memberSub");
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .where(member.age.eq(
+                        JPAExpressions
+                                .select(memberSub.age.max())
+                                .from(memberSub)))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<Member> subQueryIn() {
+        QMember memberSub = new QMember("memberSub");
+        return run(() -> queryFactory
+                .selectFrom(member)
+                .where(member.age.in(
+                        JPAExpressions
+                                .select(memberSub.age)
+                                .from(memberSub)
+                                .where(memberSub.age.goe(98))))
+                .fetch());
+    }
+
+    @Benchmark
+    public List<String> caseExpression() {
+        return run(() -> queryFactory
+                .select(new CaseBuilder()
+                        .when(member.age.between(0, 20)).then("0~20살")
+                        .when(member.age.between(21, 30)).then("21~30살")
+                        .otherwise("기타"))
+                .from(member)
+                .where(member.team.name.eq("team1"))
+                .fetch());
+    }
+}
@@ -1,9 +1,16 @@
 package study.querydsl;
 
+import com.querydsl.jpa.HQLTemplates;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class QuerydslApplication {
 
     /*./gradlew build*/
@@ -11,4 +18,20 @@ public class QuerydslApplication {
         SpringApplication.run(QuerydslApplication.class, args);
     }
 
+    /* Hibernate용 JPQL 템플릿을 미리 지정
+     * JPAQueryFactory(em)는 쿼리를 만들 때마다 EntityManager를 보고 템플릿을 다시 찾는다.
+     */
+    @Bean
+    public JPQLTemplates jpqlTemplates() {
+        return HQLTemplates.DEFAULT;
+    }
+
+    /* JPAQueryFactory는 싱글톤으로 하나만 등록
+     * 주입되는 em은 스프링이 만든 프록시라서 실제 호출 시점에 현재 트랜잭션의 영속성 컨텍스트로 연결된다.
+     * 따라서 여러 스레드가 같은 factory를 써도 동시성 문제가 없다.
+     */
+    @Bean
+    public JPAQueryFactory jpaQueryFactory(JPQLTemplates jpqlTemplates, EntityManager em) {
+        return new JPAQueryFactory(jpqlTemplates, em);
+    }
 }
@@ -0,0 +1,87 @@
+package study.querydsl.bulk;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static study.querydsl.entity.QTeam.team;
+
+/* Member/Team 대량 적재
+ * 1) id는 pooled 시퀀스로 미리 확보 → insert를 JDBC 배치로 묶을 수 있음 (IDENTITY면 배치 불가)
+ * 2) hibernate.jdbc.batch_size + order_inserts로 같은 테이블 insert를 모아서 전송
+ * 3) chunkSize건마다 flush/clear 해서 영속성 컨텍스트가 계속 커지지 않게 함
+ *
+ * Member(username, age, team) 생성자는 team.getMembers()에 추가하므로
+ * clear 이후에는 팀 프록시(getReference)를 setTeam으로만 연결한다. (컬렉션 초기화 select 방지)
+ * 팀은 이름으로 찾아서 이미 있으면 그 팀(같은 이름이 여럿이면 id가 가장 작은 팀)에 연결하고, 없을 때만 만든다.
+ */
+@Service
+public class BulkIngestionService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final int chunkSize;
+
+    public BulkIngestionService(EntityManager em, JPAQueryFactory queryFactory,
+                                @Value("${querydsl.bulk.chunk-size:1000}") int chunkSize) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public long importMembers(Stream<MemberImportRow> rows) {
+        Map<String, Long> teamIds = new HashMap<>();
+        long count = 0;
+        int pending = 0;
+
+        Iterator<MemberImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            MemberImportRow row = iterator.next();
+            Member member = new Member(row.username(), row.age());
+            if (row.teamName() != null) {
+                Long teamId = teamIds.computeIfAbsent(row.teamName(), this::findTeamId);
+                if (teamId == null) {
+                    Team team = new Team(row.teamName());
+                    em.persist(team);
+                    teamId = team.getId();
+                    teamIds.put(row.teamName(), teamId);
+                    pending++;
+                }
+                member.setTeam(em.getReference(Team.class, teamId));
+            }
+            em.persist(member);
+            count++;
+
+            if (++pending >= chunkSize) {
+                em.flush();
+                em.clear();
+                pending = 0;
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+
+    /* 이번 적재에서 만든 팀은 teamIds에 있으므로 flush 없이(COMMIT) 조회해서 insert 배치를 끊지 않는다. */
+    private Long findTeamId(String teamName) {
+        return queryFactory
+                .select(team.id)
+                .from(team)
+                .where(team.name.eq(teamName))
+                .orderBy(team.id.asc())
+                .setFlushMode(FlushModeType.COMMIT)
+                .fetchFirst();
+    }
+}
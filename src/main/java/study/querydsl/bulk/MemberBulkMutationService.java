@@ -0,0 +1,164 @@
+package study.querydsl.bulk;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.cache.QueryResultCache;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.TeamStats;
+import study.querydsl.stats.TeamStatsReconciler;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+import static study.querydsl.entity.QMember.member;
+
+/* Member 벌크 수정/삭제
+ * 엔티티를 하나씩 조회해서 setter로 바꾸면 건마다 dirty checking + update가 나간다.
+ * update/delete 쿼리 한 번으로 처리하되, 벌크 연산은 영속성 컨텍스트를 거치지 않으므로
+ * 1) 실행 전 flush : 아직 반영 안 된 변경이 덮어써지지 않도록
+ * 2) 실행 후 clear : 영속성 컨텍스트에 남은 엔티티가 DB와 달라지므로
+ * 3) 조회 결과 캐시 무효화 : 벌크 연산은 엔티티 이벤트가 발생하지 않음
+ * 4) team_stats 재계산 : 같은 이유로 증분 반영(TeamStatsUpdater)이 안 되므로 바뀐 회원의 팀만 같은 트랜잭션에서 다시 집계
+ *    update는 회원이 다른 팀으로 옮겨 갔을 수 있으므로 실행 후 같은 id 범위의 팀도 포함한다.
+ *
+ * *InChunks 메서드는 id 범위(chunkSize) 단위로 나눠서 각각 별도 트랜잭션으로 커밋한다. (락 유지 시간 제한)
+ * 청크마다 커밋되므로 중간에 실패하면 앞 청크는 이미 반영되어 있다. 그래서 clear/캐시 무효화도 청크 커밋마다 한다.
+ * 트랜잭션 밖에서 호출해야 한다.
+ */
+@Service
+public class MemberBulkMutationService {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate chunkTransaction;
+    private final QueryResultCache queryResultCache;
+    private final TeamStatsReconciler teamStatsReconciler;
+    private final long chunkSize;
+
+    public MemberBulkMutationService(EntityManager em, JPAQueryFactory queryFactory,
+                                     PlatformTransactionManager transactionManager,
+                                     QueryResultCache queryResultCache,
+                                     TeamStatsReconciler teamStatsReconciler,
+                                     @Value("${querydsl.bulk.mutation-chunk-size:10000}") long chunkSize) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queryResultCache = queryResultCache;
+        this.teamStatsReconciler = teamStatsReconciler;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public long update(Predicate where, UnaryOperator<JPAUpdateClause> assignments) {
+        em.flush();
+        long updated = mutate(where, idRange(where), true, range -> assignments.apply(queryFactory.update(member))
+                .where(where, range)
+                .execute());
+        afterBulk();
+        return updated;
+    }
+
+    @Transactional
+    public long delete(Predicate where) {
+        em.flush();
+        long deleted = mutate(where, idRange(where), false, range -> queryFactory.delete(member)
+                .where(where, range)
+                .execute());
+        afterBulk();
+        return deleted;
+    }
+
+    public long updateInChunks(Predicate where, UnaryOperator<JPAUpdateClause> assignments) {
+        return inChunks(where, true, range -> assignments.apply(queryFactory.update(member))
+                .where(where, range)
+                .execute());
+    }
+
+    public long deleteInChunks(Predicate where) {
+        return inChunks(where, false, range -> queryFactory.delete(member)
+                .where(where, range)
+                .execute());
+    }
+
+    /* 예) 20살 이상 회원 나이 +1 : addAge(member.age.goe(20), 1) */
+    public long addAge(Predicate where, int delta) {
+        return updateInChunks(where, update -> update.set(member.age, member.age.add(delta)));
+    }
+
+    private long inChunks(Predicate where, boolean update, ToLongFunction<Predicate> mutation) {
+        Tuple bounds = bounds(where);
+        Long minId = bounds == null ? null : bounds.get(member.id.min());
+        Long maxId = bounds == null ? null : bounds.get(member.id.max());
+        if (minId == null) {
+            return 0;
+        }
+
+        long total = 0;
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            Predicate range = ExpressionUtils.allOf(member.id.goe(from), member.id.lt(from + chunkSize));
+            Long affected = chunkTransaction.execute(status -> mutate(where, range, update, mutation));
+            if (affected != null && affected > 0) {
+                //커밋된 청크마다 무효화 : 다음 청크가 실패해도 이미 반영된 변경이 캐시에 가려지지 않도록
+                afterBulk();
+                total += affected;
+            }
+        }
+        return total;
+    }
+
+    /* 벌크 연산 + 바뀐 회원의 팀 재계산 (같은 트랜잭션) */
+    private long mutate(Predicate where, Predicate range, boolean update, ToLongFunction<Predicate> mutation) {
+        Set<Long> teamIds = teamIds(where, range);
+        long affected = mutation.applyAsLong(range);
+        if (affected > 0) {
+            if (update) {
+                teamIds.addAll(teamIds(range));
+            }
+            teamStatsReconciler.reconcile(teamIds);
+        }
+        return affected;
+    }
+
+    private Tuple bounds(Predicate where) {
+        return queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .where(where)
+                .fetchOne();
+    }
+
+    /* 청크로 나누지 않는 경우 : 대상 회원의 id 범위 전체 */
+    private Predicate idRange(Predicate where) {
+        Tuple bounds = bounds(where);
+        Long minId = bounds == null ? null : bounds.get(member.id.min());
+        return minId == null ? null : member.id.between(minId, bounds.get(member.id.max()));
+    }
+
+    /* 팀 없음은 TeamStats.NO_TEAM, 정렬해서 여러 벌크 연산이 같은 순서로 team_stats 행을 잠그게 한다. */
+    private Set<Long> teamIds(Predicate... where) {
+        Set<Long> teamIds = new TreeSet<>();
+        for (Long teamId : queryFactory.select(member.team.id).distinct().from(member).where(where).fetch()) {
+            teamIds.add(teamId == null ? TeamStats.NO_TEAM : teamId);
+        }
+        return teamIds;
+    }
+
+    /* 트랜잭션 안(update/delete)이면 커밋 뒤에 한 번 더 무효화된다. (청크는 커밋 후 호출되므로 바로 무효화) */
+    private void afterBulk() {
+        em.clear();
+        queryResultCache.invalidateOnWrite(Member.class);
+    }
+}
@@ -0,0 +1,5 @@
+package study.querydsl.bulk;
+
+/* 대량 적재 입력 한 줄 (teamName이 null이면 팀 없음) */
+public record MemberImportRow(String username, int age, String teamName) {
+}
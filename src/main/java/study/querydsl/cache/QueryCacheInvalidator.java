@@ -0,0 +1,58 @@
+package study.querydsl.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/* 엔티티 insert/update/delete 시 조회 결과 캐시 무효화
+ * 변경될 때마다 즉시, 그리고 트랜잭션이 끝난 뒤 한 번 더 무효화한다. (QueryResultCache.invalidateOnWrite)
+ */
+@Component
+public class QueryCacheInvalidator implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory emf;
+    private final QueryResultCache queryResultCache;
+
+    public QueryCacheInvalidator(EntityManagerFactory emf, QueryResultCache queryResultCache) {
+        this.emf = emf;
+        this.queryResultCache = queryResultCache;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getEntity().getClass());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getEntity().getClass());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getEntity().getClass());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void invalidate(Class<?> entityType) {
+        queryResultCache.invalidateOnWrite(entityType);
+    }
+}
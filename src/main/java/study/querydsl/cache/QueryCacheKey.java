@@ -0,0 +1,34 @@
+package study.querydsl.cache;
+
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.ParamExpression;
+
+import java.util.Map;
+import java.util.Set;
+
+/* 캐시 키 : JPQLSerializer로 만든 JPQL + 바인딩 값(상수/파라미터) + limit/offset
+ * entityTypes는 키 비교에는 쓰이지 않고 무효화 대상 판단에만 쓰인다.
+ */
+record QueryCacheKey(String jpql, Object constants, Map<ParamExpression<?>, Object> params,
+                     QueryModifiers modifiers, Set<Class<?>> entityTypes) {
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryCacheKey other)) {
+            return false;
+        }
+        return jpql.equals(other.jpql) && constants.equals(other.constants)
+                && params.equals(other.params) && modifiers.equals(other.modifiers);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = jpql.hashCode();
+        result = 31 * result + constants.hashCode();
+        result = 31 * result + params.hashCode();
+        return 31 * result + modifiers.hashCode();
+    }
+}
@@ -0,0 +1,77 @@
+package study.querydsl.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/* 쿼리(JPQL)별 캐시 통계 : 바인딩 값이 달라도 같은 JPQL이면 같은 통계로 집계 */
+public class QueryCacheStats {
+
+    private final String jpql;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypasses = new AtomicLong();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    QueryCacheStats(String jpql) {
+        this.jpql = jpql;
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    /* 쓰기를 한 트랜잭션이라 캐시를 거치지 않고 바로 조회 */
+    void bypassed() {
+        bypasses.incrementAndGet();
+    }
+
+    void stored(long weight) {
+        entries.incrementAndGet();
+        bytes.addAndGet(weight);
+    }
+
+    void removed(long weight) {
+        entries.decrementAndGet();
+        bytes.addAndGet(-weight);
+    }
+
+    public String getJpql() {
+        return jpql;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getBypasses() {
+        return bypasses.get();
+    }
+
+    public double getHitRatio() {
+        long requests = getHits() + getMisses();
+        return requests == 0 ? 0 : (double) getHits() / requests;
+    }
+
+    public long getEntries() {
+        return entries.get();
+    }
+
+    /* 추정치 (SizeEstimator 기준) */
+    public long getEstimatedBytes() {
+        return bytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hitRatio=%.2f hits=%d misses=%d bypasses=%d entries=%d bytes=%d : %s",
+                getHitRatio(), getHits(), getMisses(), getBypasses(), getEntries(), getEstimatedBytes(), jpql);
+    }
+}
@@ -0,0 +1,292 @@
+package study.querydsl.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.*;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/* QueryDSL 조회 결과 캐시
+ * 같은 쿼리 + 같은 바인딩 값으로 반복 실행되는 조회(팀별 회원, 집계 등)의 결과를 메모리에 보관한다.
+ * - 키 : JPQLSerializer가 만든 JPQL + 상수/파라미터 값 + limit/offset
+ * - 무효화 : 쿼리가 참조하는 엔티티(Member, Team)가 insert/update/delete 되면 해당 엔트리 삭제 (QueryCacheInvalidator)
+ * - 크기 : 결과 크기 추정치 합계가 querydsl.query-cache.maximum-size를 넘지 않도록 제한
+ *
+ * 엔티티를 캐시하면 여러 영속성 컨텍스트가 같은 인스턴스를 공유하게 되므로 DTO/스칼라/튜플 조회만 허용한다.
+ * 벌크 연산(update/delete 쿼리)은 이벤트가 발생하지 않으므로 직접 invalidateOnWrite를 호출해야 한다.
+ * 엔티티를 바꾼(flush 했거나 아직 flush 안 한 변경이 있는) 트랜잭션은 끝날 때까지 캐시를 거치지 않는다.
+ * (커밋 전 변경이 다른 트랜잭션에 보이거나, 캐시 적중으로 자기 변경을 못 보는 경우 방지)
+ */
+@Component
+public class QueryResultCache {
+
+    private final EntityManager em;
+    private final Cache<QueryCacheKey, CachedResult> cache;
+    private final Map<String, QueryCacheStats> statsByQuery = new ConcurrentHashMap<>();
+    //엔티티 타입 → 해당 타입을 참조하는 캐시 키 (무효화 시 캐시 전체를 훑지 않기 위함)
+    private final Map<Class<?>, Set<QueryCacheKey>> keysByType = new ConcurrentHashMap<>();
+    //generation 확인 + 키 등록(저장)과 generation 증가 + 키 목록 비우기(무효화)를 묶는 락
+    private final Object registryLock = new Object();
+    private final AtomicLong generation = new AtomicLong();
+    private final JPQLTemplates templates;
+
+    public QueryResultCache(EntityManager em, JPQLTemplates templates,
+                            @Value("${querydsl.query-cache.maximum-size:64MB}") DataSize maximumSize,
+                            @Value("${querydsl.query-cache.ttl:5m}") Duration ttl) {
+        this.em = em;
+        this.templates = templates;
+        this.cache = Caffeine.newBuilder()
+                .weigher((QueryCacheKey key, CachedResult value) -> (int) Math.min(value.weight(), Integer.MAX_VALUE))
+                .maximumWeight(maximumSize.toBytes())
+                .expireAfterWrite(ttl)
+                .removalListener((QueryCacheKey key, CachedResult value, RemovalCause cause) -> {
+                    if (key != null && value != null) {
+                        statsOf(key.jpql()).removed(value.weight());
+                    }
+                })
+                //크기/만료로 빠진 키는 제거 시점(같은 키의 compute와 직렬화됨)에 키 목록에서도 뺀다.
+                //removalListener는 비동기라서 그 사이 다시 저장된 같은 키의 등록을 지워버릴 수 있다.
+                .evictionListener((QueryCacheKey key, CachedResult value, RemovalCause cause) -> {
+                    if (key != null) {
+                        unregister(List.of(key));
+                    }
+                })
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> List<T> fetch(JPAQuery<T> query) {
+        QueryMetadata metadata = query.getMetadata();
+        if (containsEntity(metadata.getProjection())) {
+            throw new IllegalArgumentException("엔티티 조회 결과는 캐시할 수 없습니다. DTO projection을 사용하세요.");
+        }
+        QueryCacheKey key = keyOf(metadata);
+        QueryCacheStats stats = statsOf(key.jpql());
+        if (writtenInCurrentTransaction()) {
+            stats.bypassed();
+            return query.fetch();
+        }
+
+        CachedResult cached = cache.getIfPresent(key);
+        if (cached != null) {
+            stats.hit();
+            return (List<T>) cached.rows();
+        }
+        stats.miss();
+
+        //조회 중에 무효화가 일어났다면 오래된 결과를 넣지 않는다.
+        //확인과 저장 사이에 무효화가 끼어들지 않도록 compute(키 단위 락) 안에서 registryLock을 잡고 확인한다.
+        long generationBefore = generation.get();
+        List<T> rows = Collections.unmodifiableList(new ArrayList<>(query.fetch()));
+        CachedResult result = new CachedResult(rows, SizeEstimator.estimate(rows));
+        CachedResult stored = cache.asMap().compute(key, (k, previous) -> {
+            synchronized (registryLock) {
+                if (generation.get() != generationBefore) {
+                    return previous;
+                }
+                k.entityTypes().forEach(type -> keysOf(type).add(k));
+            }
+            return result;
+        });
+        if (stored == result) {
+            stats.stored(result.weight());
+        }
+        return rows;
+    }
+
+    public <T> T fetchOne(JPAQuery<T> query) {
+        List<T> rows = fetch(query);
+        if (rows.size() > 1) {
+            throw new NonUniqueResultException();
+        }
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /* 엔티티가 바뀌었을 때 : 지금 무효화하고, 트랜잭션 안이면 끝난 뒤에 한 번 더 무효화한다.
+     * (커밋 전에 다른 트랜잭션이 옛날 값으로 캐시를 다시 채우는 경우 방지)
+     * 트랜잭션 종료 시 무효화는 엔티티 타입별로 한 번만 등록한다. (대량 insert 시 동기화 객체가 쌓이지 않도록)
+     * 이 트랜잭션이 쓰기를 했다는 표시도 된다. (fetch가 캐시를 거치지 않음)
+     */
+    @SuppressWarnings("unchecked")
+    public void invalidateOnWrite(Class<?> entityType) {
+        invalidate(entityType);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Set<Class<?>> changed = (Set<Class<?>>) TransactionSynchronizationManager.getResource(this);
+        if (changed == null) {
+            Set<Class<?>> types = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, types);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(QueryResultCache.this);
+                    types.forEach(QueryResultCache.this::invalidate);
+                }
+            });
+            changed = types;
+        }
+        changed.add(entityType);
+    }
+
+    /* registryLock 안에서 키 목록을 복사하고 비운 뒤, 락 밖에서 캐시 엔트리를 지운다.
+     * 그 사이 compute 중인 같은 키의 저장은 remove가 키 단위 락에서 기다렸다가 지운다.
+     */
+    public void invalidate(Class<?> entityType) {
+        List<QueryCacheKey> keys;
+        synchronized (registryLock) {
+            generation.incrementAndGet();
+            keys = List.copyOf(keysOf(entityType));
+            unregister(keys);
+        }
+        cache.invalidateAll(keys);
+    }
+
+    public void invalidateAll() {
+        synchronized (registryLock) {
+            generation.incrementAndGet();
+            keysByType.values().forEach(Set::clear);
+        }
+        cache.invalidateAll();
+    }
+
+    public List<QueryCacheStats> stats() {
+        return List.copyOf(statsByQuery.values());
+    }
+
+    public QueryCacheStats statsFor(JPAQuery<?> query) {
+        return statsOf(serialize(query.getMetadata()).toString());
+    }
+
+    /* flush된 쓰기는 invalidateOnWrite 표시로, 아직 flush 안 한 변경은 세션의 dirty 여부로 판단 */
+    private boolean writtenInCurrentTransaction() {
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return true;
+        }
+        return TransactionSynchronizationManager.isActualTransactionActive() && em.unwrap(Session.class).isDirty();
+    }
+
+    private Set<QueryCacheKey> keysOf(Class<?> entityType) {
+        return keysByType.computeIfAbsent(entityType, type -> ConcurrentHashMap.newKeySet());
+    }
+
+    /* 키가 참조하는 모든 타입의 목록에서 뺀다. (Member로 무효화된 키가 Team 목록에 남지 않도록) */
+    private void unregister(Collection<QueryCacheKey> keys) {
+        synchronized (registryLock) {
+            keys.forEach(key -> key.entityTypes().forEach(type -> keysOf(type).remove(key)));
+        }
+    }
+
+    private QueryCacheStats statsOf(String jpql) {
+        return statsByQuery.computeIfAbsent(jpql, QueryCacheStats::new);
+    }
+
+    private QueryCacheKey keyOf(QueryMetadata metadata) {
+        JPQLSerializer serializer = serialize(metadata);
+        Set<Class<?>> entityTypes = new HashSet<>();
+        collectTypes(metadata, entityTypes);
+        return new QueryCacheKey(serializer.toString(), serializer.getConstants(),
+                Map.copyOf(metadata.getParams()), metadata.getModifiers(), entityTypes);
+    }
+
+    private JPQLSerializer serialize(QueryMetadata metadata) {
+        JPQLSerializer serializer = new JPQLSerializer(templates, em);
+        serializer.serialize(metadata, false, null);
+        return serializer;
+    }
+
+    private static boolean containsEntity(Expression<?> projection) {
+        if (projection instanceof EntityPath<?>) {
+            return true;
+        }
+        if (projection instanceof FactoryExpression<?> factory) {
+            return factory.getArgs().stream().anyMatch(QueryResultCache::containsEntity);
+        }
+        return false;
+    }
+
+    /* 쿼리가 참조하는 모든 경로의 타입 (서브쿼리 포함) */
+    private static void collectTypes(QueryMetadata metadata, Set<Class<?>> types) {
+        TypeCollector collector = new TypeCollector();
+        List<Expression<?>> expressions = new ArrayList<>();
+        metadata.getJoins().forEach(join -> {
+            expressions.add(join.getTarget());
+            expressions.add(join.getCondition());
+        });
+        expressions.add(metadata.getWhere());
+        expressions.add(metadata.getHaving());
+        expressions.add(metadata.getProjection());
+        expressions.addAll(metadata.getGroupBy());
+        metadata.getOrderBy().forEach(order -> expressions.add(order.getTarget()));
+        for (Expression<?> expression : expressions) {
+            if (expression != null) {
+                expression.accept(collector, types);
+            }
+        }
+    }
+
+    private static final class TypeCollector implements Visitor<Void, Set<Class<?>>> {
+
+        @Override
+        public Void visit(Constant<?> expr, Set<Class<?>> types) {
+            return null;
+        }
+
+        @Override
+        public Void visit(FactoryExpression<?> expr, Set<Class<?>> types) {
+            expr.getArgs().forEach(arg -> arg.accept(this, types));
+            return null;
+        }
+
+        @Override
+        public Void visit(Operation<?> expr, Set<Class<?>> types) {
+            expr.getArgs().forEach(arg -> arg.accept(this, types));
+            return null;
+        }
+
+        @Override
+        public Void visit(ParamExpression<?> expr, Set<Class<?>> types) {
+            return null;
+        }
+
+        @Override
+        public Void visit(Path<?> expr, Set<Class<?>> types) {
+            types.add(expr.getType());
+            types.add(expr.getRoot().getType());
+            return null;
+        }
+
+        @Override
+        public Void visit(SubQueryExpression<?> expr, Set<Class<?>> types) {
+            collectTypes(expr.getMetadata(), types);
+            return null;
+        }
+
+        @Override
+        public Void visit(TemplateExpression<?> expr, Set<Class<?>> types) {
+            expr.getArgs().stream()
+                    .filter(Expression.class::isInstance)
+                    .forEach(arg -> ((Expression<?>) arg).accept(this, types));
+            return null;
+        }
+    }
+
+    private record CachedResult(List<?> rows, long weight) {
+    }
+}
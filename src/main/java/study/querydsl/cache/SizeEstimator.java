@@ -0,0 +1,77 @@
+package study.querydsl.cache;
+
+import com.querydsl.core.Tuple;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* 캐시된 결과의 대략적인 메모리 크기 추정 (64bit JVM, compressed oops 기준의 어림값)
+ * DTO는 선언된 필드만 한 단계 따라간다.
+ */
+final class SizeEstimator {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+    private SizeEstimator() {
+    }
+
+    static long estimate(List<?> rows) {
+        long size = OBJECT_HEADER + (long) REFERENCE * rows.size();
+        for (Object row : rows) {
+            size += estimate(row, true);
+        }
+        return size;
+    }
+
+    private static long estimate(Object value, boolean followFields) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String s) {
+            return OBJECT_HEADER + 24 + s.length() * 2L;
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?>) {
+            return OBJECT_HEADER;
+        }
+        if (value instanceof Tuple tuple) {
+            return OBJECT_HEADER + estimateArray(tuple.toArray());
+        }
+        if (value instanceof Object[] array) {
+            return estimateArray(array);
+        }
+        long size = OBJECT_HEADER;
+        for (Field field : fieldsOf(value.getClass())) {
+            size += REFERENCE;
+            if (followFields && !field.getType().isPrimitive()) {
+                try {
+                    size += estimate(field.get(value), false);
+                } catch (IllegalAccessException e) {
+                    //접근할 수 없는 필드는 참조 크기만 계산
+                }
+            }
+        }
+        return size;
+    }
+
+    private static long estimateArray(Object[] array) {
+        long size = OBJECT_HEADER + (long) REFERENCE * array.length;
+        for (Object element : array) {
+            size += estimate(element, false);
+        }
+        return size;
+    }
+
+    private static Field[] fieldsOf(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, t -> Arrays.stream(t.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .filter(field -> field.trySetAccessible() || field.getType().isPrimitive())
+                .toArray(Field[]::new));
+    }
+}
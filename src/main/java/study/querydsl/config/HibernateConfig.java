@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.monitoring.NPlusOneDetector;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.UUID;
+
+@Configuration
+public class HibernateConfig {
+
+    /* 스프링 빈으로 만든 StatementInspector를 Hibernate에 등록 (N+1 감지) */
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(NPlusOneDetector nPlusOneDetector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, nPlusOneDetector);
+    }
+
+    /* 2차 캐시 CacheManager를 컨텍스트마다 따로 만든다.
+     * 기본 URI의 CacheManager는 JVM 전역이라 한 JVM에 뜬 여러 컨텍스트(테스트, DB가 각각 다름)가 같은 region을 공유하고
+     * 다른 DB의 Team을 캐시에서 읽게 된다. region 설정은 URI와 관계없이 application.conf를 쓴다.
+     * SessionFactory가 닫힐 때 Hibernate가 이 CacheManager도 닫는다.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer() {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.CACHE_MANAGER, provider.getCacheManager(
+                    URI.create("querydsl:second-level-cache:" + UUID.randomUUID()), provider.getDefaultClassLoader()));
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import study.querydsl.routing.ReadWriteRoutingDataSource;
+import study.querydsl.routing.ReplicaLagMonitor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/* primary/replica 커넥션 풀 + 읽기/쓰기 라우팅 (querydsl.routing.enabled=true 일 때만)
+ * 커넥션 풀 설정은 querydsl.routing.primary.*, querydsl.routing.replica.* (HikariConfig 속성 : jdbc-url, username, maximum-pool-size ...)
+ * 두 풀 모두 HikariDataSource 빈이라 actuator가 hikaricp.connections.*{pool=primary|replica} 지표를 풀별로 등록한다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "querydsl.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("querydsl.routing.primary")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("querydsl.routing.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${querydsl.routing.replica-lag-query:}") String lagQuery,
+                                               @Value("${querydsl.routing.max-replica-lag:5s}") Duration maxLag,
+                                               @Value("${querydsl.routing.lag-check-interval:1s}") Duration checkInterval) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag, checkInterval);
+    }
+
+    @Bean
+    public DataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") DataSource replica,
+                                                        ReplicaLagMonitor replicaLagMonitor,
+                                                        MeterRegistry meterRegistry) {
+        return new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+    }
+
+    /* JPA/JdbcTemplate이 사용하는 DataSource
+     * 트랜잭션 시작 시점에는 readOnly 여부를 아직 모르므로 실제 커넥션은 첫 SQL 실행 때 얻는다.
+     * p6spy 데코레이터가 감싼 풀도 받을 수 있도록 구체 타입이 아니라 DataSource로 주입받는다.
+     * 이 빈과 routingDataSource는 p6spy로 감싸지 않는다. (decorator.datasource.exclude-beans, application.properties)
+     */
+    @Bean
+    @Primary
+    public DataSource lazyRoutingDataSource(@Qualifier("routingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
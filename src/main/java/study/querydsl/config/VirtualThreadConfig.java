@@ -0,0 +1,71 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/* 가상 스레드 실행 (Java 21 + spring.threads.virtual.enabled=true 일 때만)
+ * 스프링 부트가 Tomcat 요청 처리 스레드를 가상 스레드로 바꾼다. 컨트롤러 → QueryDSL(JDBC) 블로킹 호출도 그대로 가상 스레드에서 실행된다.
+ * 여기서는 커넥션 풀(HikariDataSource 빈)마다 앞에 세마포어(ConnectionLimitingDataSource)를 둔다.
+ * 허가 수는 그 풀의 maximumPoolSize와 같다. 라우팅 사용 시 primary/replica가 각자 자기 풀 크기만큼 통과시키므로
+ * 작은 쪽 풀에 대기가 몰리지 않는다.
+ * 지표 : querydsl.jdbc.permits.available / querydsl.jdbc.permits.waiting {pool=풀 이름}
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    //maximumPoolSize를 설정하지 않으면 Hikari가 풀을 시작할 때 쓰는 기본값
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(
+            @Value("${querydsl.jdbc.acquire-timeout:30s}") Duration acquireTimeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ConnectionLimitingPostProcessor(acquireTimeout, meterRegistry);
+    }
+
+    /* p6spy 데코레이터(Ordered)보다 먼저 실행되어야 감싸기 전의 HikariDataSource를 받는다. */
+    static class ConnectionLimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Duration acquireTimeout;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        ConnectionLimitingPostProcessor(Duration acquireTimeout, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.acquireTimeout = acquireTimeout;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) {
+                return bean;
+            }
+            int maxConnections = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+            String poolName = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+            ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(pool, maxConnections, acquireTimeout);
+            meterRegistry.ifAvailable(registry -> {
+                Gauge.builder("querydsl.jdbc.permits.available", limited,
+                        ConnectionLimitingDataSource::getAvailablePermits).tag("pool", poolName).register(registry);
+                Gauge.builder("querydsl.jdbc.permits.waiting", limited,
+                        ConnectionLimitingDataSource::getWaitingThreads).tag("pool", poolName).register(registry);
+            });
+            return limited;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
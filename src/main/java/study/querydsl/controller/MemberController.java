@@ -0,0 +1,98 @@
+package study.querydsl.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.TeamStatsRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+@RestController
+public class MemberController {
+
+    //첫 행은 바로 보내고, 이후에는 이 단위로 flush (그 사이에는 Jackson/Tomcat 버퍼가 차면 알아서 전송)
+    private static final int FLUSH_EVERY = 1000;
+
+    private final MemberQueryRepository memberQueryRepository;
+    private final TeamStatsRepository teamStatsRepository;
+    private final ObjectWriter rowWriter;
+
+    public MemberController(MemberQueryRepository memberQueryRepository, TeamStatsRepository teamStatsRepository,
+                            ObjectMapper objectMapper) {
+        this.memberQueryRepository = memberQueryRepository;
+        this.teamStatsRepository = teamStatsRepository;
+        this.rowWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /* /v1/members?teamName=teamB&ageGoe=31&ageLoe=35 */
+    @GetMapping("/v1/members")
+    public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+        return memberQueryRepository.search(condition);
+    }
+
+    /* /v2/members?page=0&size=20 */
+    @GetMapping("/v2/members")
+    public Page<MemberTeamDto> searchMemberV2(MemberSearchCondition condition, Pageable pageable) {
+        return memberQueryRepository.searchPage(condition, pageable);
+    }
+
+    @GetMapping("/v1/members/stats")
+    public List<TeamAgeStatsDto> teamAgeStats(MemberSearchCondition condition) {
+        return memberQueryRepository.teamAgeStats(condition);
+    }
+
+    /* 미리 집계된 팀별 통계 (검색 조건 없음) */
+    @GetMapping("/v2/members/stats")
+    public List<TeamAgeStatsDto> teamAgeStatsV2() {
+        return teamStatsRepository.teamAgeStats();
+    }
+
+    @GetMapping("/v2/members/stats/total")
+    public TeamAgeStatsDto totalStats() {
+        return teamStatsRepository.totalStats();
+    }
+
+    /* 전체 검색 결과를 NDJSON(한 줄에 회원 하나)으로 스트리밍
+     * List를 만들지 않고 DB 커서에서 읽은 행을 바로 응답에 쓰므로 결과가 커져도 첫 바이트까지의 시간과 메모리가 일정하다.
+     * 본문은 MVC 비동기 스레드에서 쓰여지고, 조회 트랜잭션(읽기 전용)도 그 스레드에서 열린다.
+     * 클라이언트가 연결을 끊으면 IOException으로 커서를 닫고 중단한다.
+     */
+    @GetMapping(value = "/v1/members/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamMembers(MemberSearchCondition condition) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = rowWriter.writeValues(out)) {
+                long[] rows = {0};
+                memberQueryRepository.forEachSearch(condition, dto -> {
+                    try {
+                        writer.write(dto);
+                        if (rows[0]++ % FLUSH_EVERY == 0) {
+                            writer.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            out.write('\n');
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,16 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+/* 회원 검색 조건 (null인 조건은 무시)
+ * usernameKeyword : "abc"는 포함 검색, "abc*"처럼 *로 끝나면 앞부분 일치 검색 (인덱스 사용 가능)
+ */
+@Data
+public class MemberSearchCondition {
+    private String username;
+    private String usernameKeyword;
+    private Long teamId;
+    private String teamName;
+    private Integer ageGoe;
+    private Integer ageLoe;
+}
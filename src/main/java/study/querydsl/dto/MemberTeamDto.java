@@ -0,0 +1,25 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/* 회원 + 팀 조회용 DTO
+ * 엔티티 대신 필요한 컬럼만 조회하므로 영속성 컨텍스트에 등록되지 않고(스냅샷 X), Team 프록시도 만들지 않는다.
+ */
+@Data
+public class MemberTeamDto {
+    private Long memberId;
+    private String username;
+    private int age;
+    private Long teamId;
+    private String teamName;
+
+    @QueryProjection
+    public MemberTeamDto(Long memberId, String username, int age, Long teamId, String teamName) {
+        this.memberId = memberId;
+        this.username = username;
+        this.age = age;
+        this.teamId = teamId;
+        this.teamName = teamName;
+    }
+}
@@ -0,0 +1,28 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+/* 팀별 회원 나이 통계 (팀 이름은 유일하지 않으므로 teamId로 구분, 전체 통계는 둘 다 null) */
+@Data
+public class TeamAgeStatsDto {
+    private Long teamId;
+    private String teamName;
+    private Long count;
+    private Long ageSum;
+    private Double ageAvg;
+    private Integer ageMin;
+    private Integer ageMax;
+
+    @QueryProjection
+    public TeamAgeStatsDto(Long teamId, String teamName, Long count, Long ageSum,
+                           Double ageAvg, Integer ageMin, Integer ageMax) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.count = count;
+        this.ageSum = ageSum;
+        this.ageAvg = ageAvg;
+        this.ageMin = ageMin;
+        this.ageMax = ageMax;
+    }
+}
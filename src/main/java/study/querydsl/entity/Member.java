@@ -7,9 +7,20 @@ import lombok.*;
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
+@Table(indexes = {
+        //findByUsername, search(username 일치/접두어)
+        @Index(name = "idx_member_username", columnList = "username"),
+        //나이 범위 조건, age desc, username asc 정렬(키셋 페이징)
+        @Index(name = "idx_member_age_username", columnList = "age desc, username asc"),
+        //팀 조건 + 나이 범위, 팀 조인, fetch join (team_id 단독 인덱스 역할도 겸함)
+        //조회 컬럼(id, username, age, team_id)을 모두 포함하므로 테이블을 읽지 않고 인덱스만으로 조회 가능
+        @Index(name = "idx_member_team_age_username", columnList = "team_id, age, username")
+})
 public class Member {
     @Id
-    @GeneratedValue
+    //pooled 옵티마이저 : 시퀀스 한 번 호출로 id를 allocationSize개 확보 → JDBC 배치 insert 가능
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 100)
     @Column(name = "member_id")
     private Long id;
     private String username;
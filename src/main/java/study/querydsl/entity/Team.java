@@ -3,17 +3,26 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(region = Team.CACHE_REGION, usage = CacheConcurrencyStrategy.READ_WRITE) //거의 바뀌지 않고 자주 조회됨 → 2차 캐시
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Table(indexes = @Index(name = "idx_team_name", columnList = "name")) //findByTeamName, search(팀 이름)
 public class Team {
+    //Caffeine JCache는 설정 키를 점(.)으로 나누어 찾으므로 region 이름에 점을 쓰지 않는다. (application.conf)
+    public static final String CACHE_REGION = "team";
     @Id
-    @GeneratedValue
+    //pooled 옵티마이저 : 시퀀스 한 번 호출로 id를 allocationSize개 확보 → JDBC 배치 insert 가능
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+    @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 100)
     @Column(name = "team_id")
     private Long id;
     private String name;
@@ -0,0 +1,40 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/* 팀별 회원 나이 집계 (미리 계산해 둔 값)
+ * Member insert/update/delete 시 TeamStatsUpdater가 같은 트랜잭션 안에서 증분 반영한다.
+ * 건수/합계는 증감으로 정확히 유지되지만, 최솟값/최댓값은 해당 값을 가진 회원이 빠지면 다시 계산해야 하므로
+ * minMaxStale로 표시하고 커밋 직전 같은 트랜잭션에서 해당 팀만 다시 계산한다. (TeamStatsUpdater)
+ * 팀이 없는 회원은 teamId = NO_TEAM(0) 행에 집계한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+    public static final long NO_TEAM = 0L;
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+    private long memberCount;
+    private long ageSum;
+    private Integer ageMin;
+    private Integer ageMax;
+    private boolean minMaxStale;
+
+    public TeamStats(Long teamId, long memberCount, long ageSum, Integer ageMin, Integer ageMax) {
+        this.teamId = teamId;
+        this.memberCount = memberCount;
+        this.ageSum = ageSum;
+        this.ageMin = ageMin;
+        this.ageMax = ageMax;
+    }
+
+    public Double getAgeAvg() {
+        return memberCount == 0 ? null : (double) ageSum / memberCount;
+    }
+}
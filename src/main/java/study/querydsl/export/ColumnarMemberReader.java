@@ -0,0 +1,140 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/* ColumnarMemberWriter로 쓴 파일 읽기 (형식은 ColumnarMemberWriter 참고)
+ * 블록 하나씩 direct buffer로 읽어서 컬럼별로 디코딩한 뒤 행으로 조립한다.
+ * 팀 이름은 사전 항목의 String을 그대로 공유하므로 팀 수만큼만 만들어진다.
+ */
+public class ColumnarMemberReader implements Closeable {
+
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final List<Long> teamIds = new ArrayList<>();
+    private final List<String> teamNames = new ArrayList<>();
+    private long lastTeamId;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocateDirect(ColumnarMemberWriter.HEADER_BYTES);
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+
+    public ColumnarMemberReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (!readFully(lengthBuffer)
+                    || lengthBuffer.getInt() != ColumnarMemberWriter.MAGIC
+                    || lengthBuffer.getInt() != ColumnarMemberWriter.VERSION) {
+                throw new IOException("회원 컬럼형 파일이 아님 : " + file);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /* 다음 블록의 행들, 파일 끝이면 null */
+    public List<MemberTeamDto> readBlock() throws IOException {
+        lengthBuffer.clear().limit(Integer.BYTES);
+        if (!readFully(lengthBuffer)) {
+            return null;
+        }
+        int length = lengthBuffer.getInt();
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocateDirect(Math.max(length, buffer.capacity() * 2));
+        }
+        buffer.clear().limit(length);
+        if (!readFully(buffer)) {
+            throw new EOFException("블록이 잘림");
+        }
+        return decode(buffer);
+    }
+
+    /* 읽은 행 수를 반환 */
+    public long forEach(Consumer<? super MemberTeamDto> consumer) throws IOException {
+        long rows = 0;
+        for (List<MemberTeamDto> block = readBlock(); block != null; block = readBlock()) {
+            block.forEach(consumer);
+            rows += block.size();
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private List<MemberTeamDto> decode(ByteBuffer block) {
+        int size = VarInts.getVarInt(block);
+        int newTeams = VarInts.getVarInt(block);
+        for (int i = 0; i < newTeams; i++) {
+            lastTeamId += VarInts.getZigZag(block);
+            teamIds.add(lastTeamId);
+            teamNames.add(getText(block, VarInts.getVarInt(block)));
+        }
+
+        long[] ids = new long[size];
+        long id = 0;
+        for (int i = 0; i < size; i++) {
+            id += VarInts.getZigZag(block);
+            ids[i] = id;
+        }
+        int[] ages = new int[size];
+        int age = 0;
+        for (int i = 0; i < size; i++) {
+            age += (int) VarInts.getZigZag(block);
+            ages[i] = age;
+        }
+        int[] refs = new int[size];
+        for (int i = 0; i < size; i++) {
+            refs[i] = VarInts.getVarInt(block);
+        }
+        int[] usernameLengths = new int[size];
+        for (int i = 0; i < size; i++) {
+            usernameLengths[i] = VarInts.getVarInt(block);
+        }
+
+        List<MemberTeamDto> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int ref = refs[i];
+            rows.add(new MemberTeamDto(ids[i], getText(block, usernameLengths[i]), ages[i],
+                    ref == 0 ? null : teamIds.get(ref - 1), ref == 0 ? null : teamNames.get(ref - 1)));
+        }
+        return rows;
+    }
+
+    /* length = 바이트 길이 + 1, 0 = null */
+    private static String getText(ByteBuffer block, int length) {
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        block.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /* 버퍼를 끝까지 채우고 flip, 처음부터 파일 끝이면 false */
+    private boolean readFully(ByteBuffer target) throws IOException {
+        while (target.hasRemaining()) {
+            if (channel.read(target) < 0) {
+                if (target.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("파일이 잘림");
+            }
+        }
+        target.flip();
+        return true;
+    }
+}
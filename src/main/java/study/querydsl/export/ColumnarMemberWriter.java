@@ -0,0 +1,200 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/* 회원/팀 스냅샷 컬럼형 바이너리 파일 쓰기 (읽기는 ColumnarMemberReader)
+ * 파일 = 헤더(MAGIC, VERSION) + 블록*
+ * write(rows) 한 번이 블록 하나가 되고, 블록 안에서는 행이 아니라 컬럼 단위로 모아서 쓴다.
+ *
+ * 블록 : int 길이 | varint 행 수 | 새 팀 사전 항목 | member_id | age | 팀 참조 | username 길이 | username 바이트
+ * - 팀 사전 : 파일 전체에서 누적. 처음 나온 팀만 (zigzag 팀 id 차이, 이름)으로 한 번 쓰고, 이후에는 사전 번호만 쓴다. (0 = 팀 없음)
+ *   팀 이름은 팀 id로만 복원되므로 팀 id 없이 이름만 있거나 같은 id에 이름이 다른 행은 IllegalArgumentException
+ * - member_id, age : 블록 안에서 이전 행과의 차이를 zigzag varint로 쓴다. (id 순서로 쓰면 대부분 1바이트)
+ * - 문자열 : varint (바이트 길이 + 1, 0 = null) + UTF-8
+ * 블록 하나를 direct buffer에 인코딩해서 FileChannel로 한 번에 쓴다. (힙 -> 네이티브 복사 없음)
+ */
+public class ColumnarMemberWriter implements ExportSink<MemberTeamDto>, Closeable {
+
+    static final int MAGIC = 0x4D54434C; //"MTCL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Map<Long, Integer> teamRefs = new HashMap<>();
+    private final List<String> teamNames = new ArrayList<>();
+    private long lastTeamId;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_BYTES);
+    private long rows;
+
+    public ColumnarMemberWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(VERSION).flip();
+        writeFully();
+    }
+
+    @Override
+    public void write(List<? extends MemberTeamDto> block) throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        int size = block.size();
+        byte[][] usernames = new byte[size][];
+        int[] refs = new int[size];
+        long capacity = Integer.BYTES + VarInts.MAX_VAR_INT_BYTES * 2L
+                + (long) size * (VarInts.MAX_VAR_LONG_BYTES + VarInts.MAX_VAR_INT_BYTES * 3L);
+        for (int i = 0; i < size; i++) {
+            usernames[i] = utf8(block.get(i).getUsername());
+            capacity += usernames[i] == null ? 0 : usernames[i].length;
+        }
+        List<Integer> newTeams = assignTeamRefs(block, refs);
+        byte[][] teamNames = new byte[newTeams.size()][];
+        for (int i = 0; i < teamNames.length; i++) {
+            teamNames[i] = utf8(block.get(newTeams.get(i)).getTeamName());
+            capacity += VarInts.MAX_VAR_LONG_BYTES + VarInts.MAX_VAR_INT_BYTES
+                    + (teamNames[i] == null ? 0 : teamNames[i].length);
+        }
+        ensureCapacity(capacity);
+
+        buffer.clear();
+        buffer.position(Integer.BYTES);
+        VarInts.putVarInt(buffer, size);
+        VarInts.putVarInt(buffer, teamNames.length);
+        for (int i = 0; i < teamNames.length; i++) {
+            long teamId = block.get(newTeams.get(i)).getTeamId();
+            VarInts.putZigZag(buffer, teamId - lastTeamId);
+            lastTeamId = teamId;
+            putText(teamNames[i]);
+        }
+
+        long previousId = 0;
+        for (MemberTeamDto row : block) {
+            VarInts.putZigZag(buffer, row.getMemberId() - previousId);
+            previousId = row.getMemberId();
+        }
+        int previousAge = 0;
+        for (MemberTeamDto row : block) {
+            VarInts.putZigZag(buffer, row.getAge() - previousAge);
+            previousAge = row.getAge();
+        }
+        for (int ref : refs) {
+            VarInts.putVarInt(buffer, ref);
+        }
+        for (byte[] username : usernames) {
+            VarInts.putVarInt(buffer, textLength(username));
+        }
+        for (byte[] username : usernames) {
+            if (username != null) {
+                buffer.put(username);
+            }
+        }
+
+        buffer.putInt(0, buffer.position() - Integer.BYTES);
+        buffer.flip();
+        writeFully();
+        rows += size;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /* 이번 블록에서 처음 나온 팀을 사전에 추가하고 (행 번호 목록), 행마다 사전 번호를 refs에 채운다.
+     * 사전에 넣을 수 없는 행(팀 id 없이 이름만 있음, 같은 팀 id에 다른 이름)이 있으면 사전을 바꾸기 전에 거부한다.
+     */
+    private List<Integer> assignTeamRefs(List<? extends MemberTeamDto> block, int[] refs) {
+        Map<Long, String> blockTeams = new HashMap<>();
+        for (MemberTeamDto row : block) {
+            checkTeam(row, blockTeams);
+        }
+        List<Integer> newTeams = new ArrayList<>();
+        for (int i = 0; i < block.size(); i++) {
+            Long teamId = block.get(i).getTeamId();
+            if (teamId == null) {
+                continue;
+            }
+            Integer ref = teamRefs.get(teamId);
+            if (ref == null) {
+                ref = teamRefs.size() + 1;
+                teamRefs.put(teamId, ref);
+                teamNames.add(block.get(i).getTeamName());
+                newTeams.add(i);
+            }
+            refs[i] = ref;
+        }
+        return newTeams;
+    }
+
+    private void checkTeam(MemberTeamDto row, Map<Long, String> blockTeams) {
+        Long teamId = row.getTeamId();
+        if (teamId == null) {
+            if (row.getTeamName() != null) {
+                throw new IllegalArgumentException("팀 id 없이 팀 이름만 있는 행은 쓸 수 없음 : " + row);
+            }
+            return;
+        }
+        Integer ref = teamRefs.get(teamId);
+        String known;
+        if (ref != null) {
+            known = teamNames.get(ref - 1);
+        } else if (blockTeams.containsKey(teamId)) {
+            known = blockTeams.get(teamId);
+        } else {
+            blockTeams.put(teamId, row.getTeamName());
+            return;
+        }
+        if (!Objects.equals(known, row.getTeamName())) {
+            throw new IllegalArgumentException("같은 팀 id에 다른 팀 이름 : " + known + " / " + row);
+        }
+    }
+
+    private void ensureCapacity(long required) {
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("블록이 너무 큼 : " + required + " bytes, 더 작은 단위로 나누어 쓸 것");
+        }
+        if (buffer.capacity() < required) {
+            buffer = ByteBuffer.allocateDirect((int) Math.min(Integer.MAX_VALUE, Math.max(required, buffer.capacity() * 2L)));
+        }
+    }
+
+    private void writeFully() throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void putText(byte[] text) {
+        VarInts.putVarInt(buffer, textLength(text));
+        if (text != null) {
+            buffer.put(text);
+        }
+    }
+
+    private static int textLength(byte[] text) {
+        return text == null ? 0 : text.length + 1;
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+}
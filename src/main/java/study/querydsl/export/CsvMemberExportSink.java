@@ -0,0 +1,56 @@
+package study.querydsl.export;
+
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/* member_id,username,age,team_id,team_name 형식 CSV (RFC 4180 따옴표 처리) */
+public class CsvMemberExportSink implements ExportSink<MemberTeamDto>, Closeable {
+
+    static final String HEADER = "member_id,username,age,team_id,team_name";
+
+    private final Writer writer;
+
+    public CsvMemberExportSink(Writer writer) throws IOException {
+        this.writer = writer;
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(List<? extends MemberTeamDto> rows) throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        for (MemberTeamDto row : rows) {
+            line.setLength(0);
+            line.append(row.getMemberId()).append(',');
+            appendText(line, row.getUsername());
+            line.append(',').append(row.getAge()).append(',');
+            if (row.getTeamId() != null) {
+                line.append(row.getTeamId());
+            }
+            line.append(',');
+            appendText(line, row.getTeamName());
+            line.append('\n');
+            writer.append(line);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static void appendText(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,13 @@
+package study.querydsl.export;
+
+import java.io.IOException;
+import java.util.List;
+
+/* export 결과를 받는 쪽 (파일, 소켓 등)
+ * 항상 한 스레드(export를 호출한 스레드)에서만 호출되므로 스레드 안전할 필요가 없다.
+ */
+@FunctionalInterface
+public interface ExportSink<T> {
+
+    void write(List<? extends T> rows) throws IOException;
+}
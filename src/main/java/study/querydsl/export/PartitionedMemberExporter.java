@@ -0,0 +1,197 @@
+package study.querydsl.export;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.MemberIdRangeSplitter;
+import study.querydsl.streaming.QueryStreamer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 회원 전체 export : PK 구간별 병렬 스캔
+ * 1) member id를 partitionSize 행마다 끊어서 구간을 만든다. (스레드 수보다 구간이 많아야 부하가 고르게 나뉨)
+ *    경계는 실제 id에서 뽑으므로(MemberIdRangeSplitter) id가 듬성듬성해도 빈 구간이 생기지 않는다.
+ * 2) 구간마다 별도 스레드/읽기 전용 트랜잭션(커넥션)에서 member.id.between 으로 스트리밍 조회(QueryStreamer)
+ * 3) 조회한 행을 chunkSize개씩 묶어서 크기가 정해진 큐에 넣고, 호출한 스레드 하나가 큐에서 꺼내 sink에 쓴다.
+ *    sink가 느리면 큐가 차서 스캔 스레드가 기다린다. (backpressure, 메모리에 쌓이는 행 수가 제한됨)
+ * ordered = true 이면 구간마다 큐를 따로 두고 구간 순서대로 꺼내므로 id 순서가 유지된다.
+ * ordered = false 이면 하나의 큐를 공유하고 먼저 읽힌 순서대로 쓴다. (더 빠름)
+ * sink나 스캔에서 예외가 나면 나머지 스캔을 모두 중단한다.
+ */
+@Component
+public class PartitionedMemberExporter implements DisposableBean {
+
+    private final JPAQueryFactory queryFactory;
+    private final MemberIdRangeSplitter idRangeSplitter;
+    private final QueryStreamer queryStreamer;
+    private final TransactionTemplate partitionTransaction;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final long partitionSize;
+    private final int chunkSize;
+    private final int queueCapacity;
+
+    public PartitionedMemberExporter(JPAQueryFactory queryFactory, MemberIdRangeSplitter idRangeSplitter,
+                                     QueryStreamer queryStreamer, PlatformTransactionManager transactionManager,
+                                     @Value("${querydsl.export.parallelism:4}") int parallelism,
+                                     @Value("${querydsl.export.partition-size:100000}") long partitionSize,
+                                     @Value("${querydsl.export.chunk-size:1000}") int chunkSize,
+                                     @Value("${querydsl.export.queue-capacity:8}") int queueCapacity) {
+        this.queryFactory = queryFactory;
+        this.idRangeSplitter = idRangeSplitter;
+        this.queryStreamer = queryStreamer;
+        this.partitionTransaction = new TransactionTemplate(transactionManager);
+        this.partitionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitionTransaction.setReadOnly(true);
+        this.parallelism = parallelism;
+        this.partitionSize = partitionSize;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "member-export-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /* 내보낸 행 수를 반환 */
+    public long export(ExportSink<? super MemberTeamDto> sink, boolean ordered) throws IOException {
+        List<long[]> partitions = idRangeSplitter.splitByRows(partitionSize);
+        if (partitions.isEmpty()) {
+            return 0;
+        }
+        List<Future<?>> scans = new ArrayList<>(partitions.size());
+        try {
+            return ordered ? exportOrdered(partitions, sink, scans) : exportUnordered(partitions, sink, scans);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("export 중 인터럽트", e);
+        } finally {
+            scans.forEach(scan -> scan.cancel(true));
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private long exportOrdered(List<long[]> partitions, ExportSink<? super MemberTeamDto> sink,
+                               List<Future<?>> scans) throws IOException, InterruptedException {
+        List<BlockingQueue<Batch>> queues = new ArrayList<>(partitions.size());
+        for (long[] range : partitions) {
+            BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            scans.add(executor.submit(() -> scan(range, queue)));
+        }
+        long rows = 0;
+        //실행기는 먼저 제출된 구간부터 실행하므로 지금 꺼내는 구간은 항상 실행 중이거나 끝난 상태
+        for (BlockingQueue<Batch> queue : queues) {
+            for (Batch batch = queue.take(); !batch.isLast(); batch = queue.take()) {
+                rows += write(sink, batch);
+            }
+        }
+        return rows;
+    }
+
+    private long exportUnordered(List<long[]> partitions, ExportSink<? super MemberTeamDto> sink,
+                                 List<Future<?>> scans) throws IOException, InterruptedException {
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity * parallelism);
+        for (long[] range : partitions) {
+            scans.add(executor.submit(() -> scan(range, queue)));
+        }
+        long rows = 0;
+        int running = partitions.size();
+        while (running > 0) {
+            Batch batch = queue.take();
+            if (batch.isLast()) {
+                running--;
+            } else {
+                rows += write(sink, batch);
+            }
+        }
+        return rows;
+    }
+
+    private static long write(ExportSink<? super MemberTeamDto> sink, Batch batch) throws IOException {
+        if (batch.error() != null) {
+            throw new IllegalStateException("member export 스캔 실패", batch.error());
+        }
+        sink.write(batch.rows());
+        return batch.rows().size();
+    }
+
+    /* 스캔 스레드 : 구간 하나를 읽어서 chunk 단위로 큐에 넣고, 마지막에 종료 표시 */
+    private void scan(long[] range, BlockingQueue<Batch> queue) {
+        try {
+            partitionTransaction.executeWithoutResult(status -> {
+                List<MemberTeamDto> chunk = new ArrayList<>(chunkSize);
+                queryStreamer.forEach(queryFactory
+                        .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                        .from(member)
+                        .leftJoin(member.team, team)
+                        .where(member.id.between(range[0], range[1]))
+                        .orderBy(member.id.asc()), row -> {
+                    chunk.add(row);
+                    if (chunk.size() == chunkSize) {
+                        put(queue, new Batch(List.copyOf(chunk), null));
+                        chunk.clear();
+                    }
+                });
+                if (!chunk.isEmpty()) {
+                    put(queue, new Batch(List.copyOf(chunk), null));
+                }
+            });
+            put(queue, Batch.LAST);
+        } catch (CancellationException e) {
+            //export가 먼저 중단됨
+        } catch (Throwable e) {
+            //Error도 넘겨야 한다. 넘기지 않으면 꺼내는 쪽이 종료 표시를 영원히 기다린다.
+            if (!Thread.currentThread().isInterrupted()) {
+                //꺼내는 쪽이 에러를 받아야 멈추므로 버리지 않고 자리가 날 때까지 기다린다.
+                try {
+                    queue.put(new Batch(List.of(), e));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private static void put(BlockingQueue<Batch> queue, Batch batch) {
+        try {
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("export 중단");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /* rows가 비어 있고 error도 없으면 구간 끝 표시 */
+    private record Batch(List<MemberTeamDto> rows, Throwable error) {
+
+        static final Batch LAST = new Batch(List.of(), null);
+
+        boolean isLast() {
+            return this == LAST;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package study.querydsl.export;
+
+import java.nio.ByteBuffer;
+
+/* LEB128 가변 길이 정수 + zigzag (작은 음수도 짧게 인코딩)
+ * 7비트씩 하위부터 쓰고, 다음 바이트가 있으면 최상위 비트를 1로 둔다. long 최대 10바이트
+ */
+public final class VarInts {
+
+    public static final int MAX_VAR_LONG_BYTES = 10;
+    public static final int MAX_VAR_INT_BYTES = 5;
+
+    private VarInts() {
+    }
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("잘못된 varint");
+    }
+
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        putVarLong(buffer, value & 0xFFFFFFFFL);
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        return (int) getVarLong(buffer);
+    }
+
+    public static void putZigZag(ByteBuffer buffer, long value) {
+        putVarLong(buffer, (value << 1) ^ (value >> 63));
+    }
+
+    public static long getZigZag(ByteBuffer buffer) {
+        long encoded = getVarLong(buffer);
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+}
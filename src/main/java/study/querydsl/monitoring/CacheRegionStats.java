@@ -0,0 +1,10 @@
+package study.querydsl.monitoring;
+
+/* 2차 캐시 region 통계 */
+public record CacheRegionStats(String region, long hits, long misses, long puts, long elementsInMemory) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,47 @@
+package study.querydsl.monitoring;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.springframework.stereotype.Component;
+
+/* 지연 로딩 원인 추적
+ * 컬렉션 초기화(Team.members)와 프록시 초기화(Member.team)를 감지해서
+ * 바로 다음에 실행되는 select의 원인으로 N+1 감지기에 알려준다.
+ * 기본 리스너보다 먼저 실행되어야 하므로 prepend로 등록한다.
+ */
+@Component
+public class LazyLoadListener implements InitializeCollectionEventListener, LoadEventListener {
+
+    private final EntityManagerFactory emf;
+    private final NPlusOneDetector detector;
+
+    public LazyLoadListener(EntityManagerFactory emf, NPlusOneDetector detector) {
+        this.emf = emf;
+        this.detector = detector;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.prependListeners(EventType.INIT_COLLECTION, this);
+        registry.prependListeners(EventType.LOAD, this);
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        detector.markLazyLoad(event.getCollection().getRole());
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) throws HibernateException {
+        if (loadType == LoadEventListener.IMMEDIATE_LOAD) {
+            detector.markLazyLoad(event.getEntityClassName() + " (lazy proxy)");
+        }
+    }
+}
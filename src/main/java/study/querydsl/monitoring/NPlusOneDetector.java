@@ -0,0 +1,149 @@
+package study.querydsl.monitoring;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/* N+1 감지기
+ * Hibernate StatementInspector로 실행되는 모든 SQL을 받아서 현재 scope에 기록한다.
+ * scope는 두 가지
+ * 1) 명시적 scope : try (QueryScope scope = detector.start()) { ... } (테스트에서 사용)
+ * 2) 트랜잭션 scope : mode가 OFF가 아니면 트랜잭션마다 자동으로 만들어진다.
+ * 같은 모양의 select가 threshold번 반복되면 mode에 따라 경고 로그를 남기거나 예외를 던진다.
+ * 누적 SQL 수와 감지 횟수는 querydsl.nplusone.statements / querydsl.nplusone.detections 카운터로 노출한다.
+ */
+@Slf4j
+@Component
+public class NPlusOneDetector implements StatementInspector {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+\\b");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'[^']*'");
+
+    private final ThreadLocal<QueryScope> currentScope = new ThreadLocal<>();
+    private final NPlusOneMode mode;
+    private final int threshold;
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong detections = new AtomicLong();
+
+    public NPlusOneDetector(@Value("${querydsl.nplusone.mode:OFF}") NPlusOneMode mode,
+                            @Value("${querydsl.nplusone.threshold:3}") int threshold,
+                            MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.threshold = threshold;
+        FunctionCounter.builder("querydsl.nplusone.statements", statements, AtomicLong::get)
+                .description("StatementInspector를 거친 SQL 수")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        FunctionCounter.builder("querydsl.nplusone.detections", detections, AtomicLong::get)
+                .description("N+1 select 감지 횟수")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+    }
+
+    public QueryScope start() {
+        return start(false);
+    }
+
+    /* select SQL 원문까지 남기는 scope */
+    public QueryScope capture() {
+        return start(true);
+    }
+
+    private QueryScope start(boolean captureSql) {
+        QueryScope scope = new QueryScope(this, currentScope.get(), captureSql);
+        currentScope.set(scope);
+        return scope;
+    }
+
+    void end(QueryScope scope) {
+        if (currentScope.get() == scope) {
+            if (scope.previous() == null) {
+                currentScope.remove();
+            } else {
+                currentScope.set(scope.previous());
+            }
+        }
+    }
+
+    void markLazyLoad(String cause) {
+        QueryScope scope = currentScope.get();
+        if (scope != null) {
+            scope.markLazyLoad(cause);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.incrementAndGet();
+        if (!sql.regionMatches(true, 0, "select", 0, 6)) {
+            return sql;
+        }
+        QueryScope scope = scopeForCurrentThread();
+        if (scope == null) {
+            return sql;
+        }
+        QueryScope.ShapeStats detected = scope.record(sql, shapeOf(sql), threshold);
+        if (detected != null) {
+            onDetected(detected);
+        }
+        return sql;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public long getStatementCount() {
+        return statements.get();
+    }
+
+    public long getDetectionCount() {
+        return detections.get();
+    }
+
+    static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = WHITESPACE.matcher(shape).replaceAll(" ");
+        shape = IN_LIST.matcher(shape).replaceAll("(?...)");
+        return shape.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private QueryScope scopeForCurrentThread() {
+        QueryScope scope = currentScope.get();
+        if (scope != null || mode == NPlusOneMode.OFF
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return scope;
+        }
+        QueryScope transactionScope = start();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                transactionScope.close();
+            }
+        });
+        return transactionScope;
+    }
+
+    private void onDetected(QueryScope.ShapeStats stats) {
+        detections.incrementAndGet();
+        String message = "N+1 select 감지 (같은 select " + threshold + "회 이상) - " + stats
+                + " → fetch join 또는 batch fetch를 고려하세요.";
+        if (mode == NPlusOneMode.FAIL) {
+            throw new NPlusOneException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,7 @@
+package study.querydsl.monitoring;
+
+public class NPlusOneException extends RuntimeException {
+    public NPlusOneException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package study.querydsl.monitoring;
+
+/* N+1 감지 시 동작
+ * OFF  : 트랜잭션 단위 자동 감지 안 함 (명시적 scope만 동작)
+ * WARN : 경고 로그 + 카운터 증가
+ * FAIL : NPlusOneException 발생 (테스트용)
+ */
+public enum NPlusOneMode {
+    OFF, WARN, FAIL
+}
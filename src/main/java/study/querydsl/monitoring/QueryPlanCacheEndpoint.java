@@ -0,0 +1,55 @@
+package study.querydsl.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/* /actuator/queryplans : Hibernate 쿼리 플랜 캐시 통계
+ * 동적 조건 때문에 JPQL 모양이 계속 새로 생기면 miss/eviction이 쌓이는 쿼리가 위로 올라온다.
+ */
+@Component
+@Endpoint(id = "queryplans")
+public class QueryPlanCacheEndpoint {
+
+    private final Statistics statistics;
+
+    public QueryPlanCacheEndpoint(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactoryImplementor.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> queryPlans() {
+        List<QueryPlanStats> queries = queryStats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("hits", statistics.getQueryPlanCacheHitCount());
+        result.put("misses", statistics.getQueryPlanCacheMissCount());
+        result.put("estimatedEvictions", queries.stream().mapToLong(QueryPlanStats::estimatedEvictions).sum());
+        result.put("distinctQueries", queries.size());
+        result.put("queries", queries);
+        return result;
+    }
+
+    public List<QueryPlanStats> queryStats() {
+        return Arrays.stream(statistics.getQueries())
+                .map(this::statsOf)
+                .sorted(Comparator.comparingLong(QueryPlanStats::planCacheMisses).reversed())
+                .toList();
+    }
+
+    private QueryPlanStats statsOf(String query) {
+        QueryStatistics stats = statistics.getQueryStatistics(query);
+        long misses = stats.getPlanCacheMissCount();
+        return new QueryPlanStats(query, stats.getExecutionCount(), stats.getPlanCacheHitCount(),
+                misses, Math.max(misses - 1, 0));
+    }
+}
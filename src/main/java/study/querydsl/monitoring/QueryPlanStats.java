@@ -0,0 +1,8 @@
+package study.querydsl.monitoring;
+
+/* 쿼리(JPQL)별 플랜 캐시 통계
+ * Hibernate는 eviction 횟수를 따로 제공하지 않으므로, 두 번째 이후의 miss는 eviction으로 본다.
+ */
+public record QueryPlanStats(String query, long executions, long planCacheHits, long planCacheMisses,
+                             long estimatedEvictions) {
+}
@@ -0,0 +1,102 @@
+package study.querydsl.monitoring;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/* 한 요청/트랜잭션 동안 실행된 select를 모양(shape)별로 센다.
+ * 같은 모양의 select가 threshold번 이상 반복되면 N+1로 본다.
+ * capture scope는 실행된 select SQL 원문도 남긴다. (EXPLAIN 등 실행 계획 확인용)
+ */
+public class QueryScope implements AutoCloseable {
+
+    private final NPlusOneDetector detector;
+    private final QueryScope previous;
+    private final Map<String, ShapeStats> shapes = new LinkedHashMap<>();
+    private final List<String> statements;
+    private int statementCount;
+    private String pendingCause;
+
+    QueryScope(NPlusOneDetector detector, QueryScope previous, boolean captureSql) {
+        this.detector = detector;
+        this.previous = previous;
+        this.statements = captureSql ? new ArrayList<>() : null;
+    }
+
+    /* 지연 로딩 리스너가 다음 select의 원인(연관관계)을 남긴다. */
+    void markLazyLoad(String cause) {
+        this.pendingCause = cause;
+    }
+
+    /* 이번 select로 반복 횟수가 threshold에 도달했으면 해당 통계를 반환 */
+    ShapeStats record(String sql, String shape, int threshold) {
+        statementCount++;
+        if (statements != null) {
+            statements.add(sql);
+        }
+        String cause = pendingCause;
+        pendingCause = null;
+        ShapeStats stats = shapes.computeIfAbsent(shape, ShapeStats::new);
+        stats.count++;
+        if (cause != null) {
+            stats.cause = cause;
+        }
+        return stats.count == threshold ? stats : null;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    /* capture scope에서 실행된 select SQL (파라미터는 ? 그대로) */
+    public List<String> getStatements() {
+        if (statements == null) {
+            throw new IllegalStateException("SQL을 남기려면 NPlusOneDetector.capture()로 scope를 시작해야 합니다.");
+        }
+        return List.copyOf(statements);
+    }
+
+    public List<ShapeStats> repeatedSelects(int threshold) {
+        return shapes.values().stream()
+                .filter(stats -> stats.count >= threshold)
+                .toList();
+    }
+
+    QueryScope previous() {
+        return previous;
+    }
+
+    @Override
+    public void close() {
+        detector.end(this);
+    }
+
+    public static class ShapeStats {
+        private final String shape;
+        private int count;
+        private String cause;
+
+        ShapeStats(String shape) {
+            this.shape = shape;
+        }
+
+        public String getShape() {
+            return shape;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /* Team.members 같은 컬렉션 role, 또는 프록시 초기화된 엔티티 이름 */
+        public String getCause() {
+            return cause;
+        }
+
+        @Override
+        public String toString() {
+            return (cause != null ? cause : "unknown association") + " x" + count + " : " + shape;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.monitoring;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/* 2차 캐시 hit/miss 통계 (hibernate.generate_statistics=true 필요) */
+@Component
+public class SecondLevelCacheMetrics {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactoryImplementor.class).getStatistics();
+    }
+
+    public CacheRegionStats region(String regionName) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+        if (region == null) {
+            return new CacheRegionStats(regionName, 0, 0, 0, 0);
+        }
+        return new CacheRegionStats(regionName, region.getHitCount(), region.getMissCount(),
+                region.getPutCount(), region.getElementCountInMemory());
+    }
+
+    public List<CacheRegionStats> regions() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .map(this::region)
+                .toList();
+    }
+
+    public long prepareStatementCount() {
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,170 @@
+package study.querydsl.paging;
+
+import com.querydsl.core.types.*;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.impl.JPAQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/* 키셋(seek) 페이징
+ * offset은 앞의 행을 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+ * 키셋 페이징은 마지막으로 본 행의 정렬 키 값을 커서로 넘기고,
+ * "그 행보다 뒤에 오는 행"을 WHERE 조건으로 만들어서 어느 페이지든 첫 페이지와 같은 비용으로 조회한다.
+ *
+ * 정렬 (a desc, b asc, id asc), 커서 (va, vb, vid) 일 때 생성되는 조건
+ *   a < va
+ *   or (a = va and b > vb)
+ *   or (a = va and b = vb and id > vid)
+ * 정렬 방향이 섞일 수 있어서 (a, b, id) > (...) 같은 row value 비교 대신 펼친 형태를 사용한다.
+ *
+ * 주의
+ * 1) 마지막 컬럼은 반드시 유일해야 한다. (보통 id)
+ * 2) null이 들어갈 수 있는 컬럼은 nullsFirst/nullsLast를 명시해야 한다.
+ */
+public class Keyset<T> {
+
+    private final List<Column<T, ?>> columns;
+
+    private Keyset(List<Column<T, ?>> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public OrderSpecifier<?>[] orderSpecifiers() {
+        return columns.stream()
+                .map(Column::orderSpecifier)
+                .toArray(OrderSpecifier<?>[]::new);
+    }
+
+    /* 커서가 가리키는 행보다 뒤에 오는 행만 남기는 조건 */
+    public Predicate after(String cursor) {
+        List<Object> values = KeysetCursor.decode(cursor);
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("커서의 키 개수가 정렬 컬럼 수와 다릅니다: " + cursor);
+        }
+
+        List<Predicate> branches = new ArrayList<>();
+        Predicate samePrefix = null;
+        for (int i = 0; i < columns.size(); i++) {
+            Column<T, ?> column = columns.get(i);
+            Object value = values.get(i);
+            Predicate beyond = column.beyond(value);
+            if (beyond != null) {
+                branches.add(ExpressionUtils.allOf(samePrefix, beyond));
+            }
+            samePrefix = ExpressionUtils.allOf(samePrefix, column.same(value));
+        }
+
+        Predicate predicate = ExpressionUtils.anyOf(branches);
+        return predicate != null ? predicate : Expressions.booleanTemplate("1 = 0");
+    }
+
+    public String cursorOf(T row) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (Column<T, ?> column : columns) {
+            values.add(column.extract(row));
+        }
+        return KeysetCursor.encode(values);
+    }
+
+    /* size + 1건을 조회해서 다음 페이지 존재 여부를 판단한다. (count 쿼리 없음) */
+    public KeysetPage<T> fetchPage(JPAQuery<T> query, String cursor, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("페이지 크기는 1 이상이어야 합니다: " + size);
+        }
+        if (cursor != null) {
+            query.where(after(cursor));
+        }
+        List<T> rows = query
+                .orderBy(orderSpecifiers())
+                .limit(size + 1L)
+                .fetch();
+
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> content = new ArrayList<>(rows.subList(0, size));
+        return new KeysetPage<>(content, cursorOf(content.get(size - 1)));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final class Column<T, V extends Comparable> {
+        private final ComparableExpressionBase<V> expression;
+        private final Order order;
+        private final OrderSpecifier.NullHandling nullHandling;
+        private final Function<? super T, ? extends V> extractor;
+
+        private Column(ComparableExpressionBase<V> expression, Order order,
+                       OrderSpecifier.NullHandling nullHandling, Function<? super T, ? extends V> extractor) {
+            this.expression = expression;
+            this.order = order;
+            this.nullHandling = nullHandling;
+            this.extractor = extractor;
+        }
+
+        OrderSpecifier<V> orderSpecifier() {
+            return new OrderSpecifier<>(order, expression, nullHandling);
+        }
+
+        Object extract(T row) {
+            V value = extractor.apply(row);
+            if (value == null && nullHandling == OrderSpecifier.NullHandling.Default) {
+                throw new IllegalStateException(
+                        "null 값이 있는 정렬 컬럼은 nullsFirst/nullsLast를 지정해야 합니다: " + expression);
+            }
+            return value;
+        }
+
+        /* 이 컬럼만 보았을 때 value보다 뒤에 오는 조건, 없으면 null */
+        Predicate beyond(Object value) {
+            boolean nullsLast = nullHandling == OrderSpecifier.NullHandling.NullsLast;
+            if (value == null) {
+                return nullsLast ? null : expression.isNotNull();
+            }
+            Ops op = order == Order.ASC ? Ops.GT : Ops.LT;
+            Predicate compare = Expressions.booleanOperation(op, expression, Expressions.constant(value));
+            return nullsLast ? ExpressionUtils.or(compare, expression.isNull()) : compare;
+        }
+
+        Predicate same(Object value) {
+            return value == null ? expression.isNull() : expression.eq((V) value);
+        }
+    }
+
+    public static class Builder<T> {
+        private final List<Column<T, ?>> columns = new ArrayList<>();
+
+        @SuppressWarnings("rawtypes")
+        public <V extends Comparable> Builder<T> asc(ComparableExpressionBase<V> expression,
+                                                     Function<? super T, ? extends V> extractor) {
+            return column(expression, Order.ASC, OrderSpecifier.NullHandling.Default, extractor);
+        }
+
+        @SuppressWarnings("rawtypes")
+        public <V extends Comparable> Builder<T> desc(ComparableExpressionBase<V> expression,
+                                                      Function<? super T, ? extends V> extractor) {
+            return column(expression, Order.DESC, OrderSpecifier.NullHandling.Default, extractor);
+        }
+
+        @SuppressWarnings("rawtypes")
+        public <V extends Comparable> Builder<T> column(ComparableExpressionBase<V> expression, Order order,
+                                                        OrderSpecifier.NullHandling nullHandling,
+                                                        Function<? super T, ? extends V> extractor) {
+            columns.add(new Column<>(expression, order, nullHandling, extractor));
+            return this;
+        }
+
+        public Keyset<T> build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("정렬 컬럼이 최소 하나는 필요합니다.");
+            }
+            return new Keyset<>(columns);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package study.querydsl.paging;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/* 키셋 커서
+ * 마지막으로 조회한 행의 정렬 키 값들을 불투명(opaque) 문자열로 인코딩/디코딩한다.
+ * 지원 타입 : null, Integer, Long, String
+ */
+public final class KeysetCursor {
+
+    private static final byte NULL = 0;
+    private static final byte INT = 1;
+    private static final byte LONG = 2;
+    private static final byte STRING = 3;
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(List<?> values) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(values.size());
+            for (Object value : values) {
+                if (value == null) {
+                    out.writeByte(NULL);
+                } else if (value instanceof Integer i) {
+                    out.writeByte(INT);
+                    out.writeInt(i);
+                } else if (value instanceof Long l) {
+                    out.writeByte(LONG);
+                    out.writeLong(l);
+                } else if (value instanceof String s) {
+                    out.writeByte(STRING);
+                    out.writeUTF(s);
+                } else {
+                    throw new IllegalArgumentException("커서에 사용할 수 없는 타입입니다: " + value.getClass());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static List<Object> decode(String cursor) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(cursor)))) {
+            int size = in.readUnsignedByte();
+            List<Object> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                byte tag = in.readByte();
+                switch (tag) {
+                    case NULL -> values.add(null);
+                    case INT -> values.add(in.readInt());
+                    case LONG -> values.add(in.readLong());
+                    case STRING -> values.add(in.readUTF());
+                    default -> throw new IllegalArgumentException("알 수 없는 타입 태그: " + tag);
+                }
+            }
+            return values;
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
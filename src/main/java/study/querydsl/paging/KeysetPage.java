@@ -0,0 +1,23 @@
+package study.querydsl.paging;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/* 키셋 페이지
+ * nextCursor가 null이면 마지막 페이지
+ */
+@Getter
+public class KeysetPage<T> {
+    private final List<T> content;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.paging;
+
+import com.querydsl.core.types.Order;
+import com.querydsl.core.types.OrderSpecifier;
+import study.querydsl.entity.Member;
+
+import static study.querydsl.entity.QMember.member;
+
+/* Member 조회에서 사용하는 키셋 정렬 모음 */
+public final class MemberKeysets {
+
+    /* 나이 내림차순, 이름 오름차순(null은 마지막), id 오름차순 */
+    public static final Keyset<Member> AGE_DESC_USERNAME_ASC = Keyset.<Member>builder()
+            .desc(member.age, Member::getAge)
+            .column(member.username, Order.ASC, OrderSpecifier.NullHandling.NullsLast, Member::getUsername)
+            .asc(member.id, Member::getId)
+            .build();
+
+    private MemberKeysets() {
+    }
+}
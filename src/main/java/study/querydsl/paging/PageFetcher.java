@@ -0,0 +1,126 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/* 페이징 조회 + total count
+ * fetchResults()는 항상 count 쿼리를 한 번 더 실행한다.
+ * 여기서는 세 가지 방식을 제공한다.
+ * 1) fetch : 첫 페이지가 limit보다 작거나, 마지막 페이지인 경우 count 쿼리 생략
+ * 2) fetchWithAsyncCount : count를 별도 스레드/별도 트랜잭션(커넥션)에서 content 조회와 동시에 실행
+ * 3) fetchWithCachedCount : 일정 시간(querydsl.paging.count-cache-ttl) 동안은 캐시된 근사 count 사용
+ * 세 방식 모두 1)의 count 생략 규칙을 먼저 적용한다.
+ */
+@Component
+public class PageFetcher implements DisposableBean {
+
+    private final TransactionTemplate countTransaction;
+    private final ExecutorService countExecutor;
+    private final long countCacheTtlNanos;
+    private final Map<String, CachedCount> countCache = new ConcurrentHashMap<>();
+
+    public PageFetcher(PlatformTransactionManager transactionManager,
+                       @Value("${querydsl.paging.count-threads:4}") int countThreads,
+                       @Value("${querydsl.paging.count-cache-ttl:30s}") Duration countCacheTtl) {
+        this.countTransaction = new TransactionTemplate(transactionManager);
+        this.countTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.countTransaction.setReadOnly(true);
+        this.countExecutor = Executors.newFixedThreadPool(countThreads, daemonThreads("page-count-"));
+        this.countCacheTtlNanos = countCacheTtl.toNanos();
+    }
+
+    public <T> Page<T> fetch(JPAQuery<T> contentQuery, LongSupplier totalSupplier, Pageable pageable) {
+        List<T> content = fetchContent(contentQuery, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, totalSupplier);
+    }
+
+    /* count는 새 트랜잭션에서 실행되므로 호출한 쪽 트랜잭션에서 아직 커밋하지 않은 변경은 보이지 않는다.
+     * totalSupplier 안의 쿼리는 공유 EntityManager(스프링 프록시)로 만들어야 count 스레드의 트랜잭션을 사용한다.
+     */
+    public <T> Page<T> fetchWithAsyncCount(JPAQuery<T> contentQuery, LongSupplier totalSupplier, Pageable pageable) {
+        CompletableFuture<Long> total = CompletableFuture.supplyAsync(
+                () -> countTransaction.execute(status -> totalSupplier.getAsLong()), countExecutor);
+        try {
+            List<T> content = fetchContent(contentQuery, pageable);
+            return PageableExecutionUtils.getPage(content, pageable, () -> join(total));
+        } finally {
+            //count가 필요 없었던 경우 아직 시작 전이라면 실행하지 않는다.
+            total.cancel(false);
+        }
+    }
+
+    public <T> Page<T> fetchWithCachedCount(JPAQuery<T> contentQuery, LongSupplier totalSupplier,
+                                            Pageable pageable, String countKey) {
+        List<T> content = fetchContent(contentQuery, pageable);
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            long cached = cachedCount(countKey, totalSupplier);
+            //캐시된 값이 이미 조회한 건수보다 작으면 최소한 지금까지 본 건수로 보정
+            return Math.max(cached, pageable.getOffset() + content.size());
+        });
+    }
+
+    public void evictCount(String countKey) {
+        countCache.remove(countKey);
+    }
+
+    private <T> List<T> fetchContent(JPAQuery<T> contentQuery, Pageable pageable) {
+        if (pageable.isPaged()) {
+            contentQuery.offset(pageable.getOffset()).limit(pageable.getPageSize());
+        }
+        return contentQuery.fetch();
+    }
+
+    private long cachedCount(String countKey, LongSupplier totalSupplier) {
+        long now = System.nanoTime();
+        CachedCount cached = countCache.get(countKey);
+        if (cached != null && now - cached.loadedAt() < countCacheTtlNanos) {
+            return cached.value();
+        }
+        long value = totalSupplier.getAsLong();
+        countCache.put(countKey, new CachedCount(value, now));
+        return value;
+    }
+
+    private static long join(CompletableFuture<Long> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        countExecutor.shutdownNow();
+    }
+
+    private record CachedCount(long value, long loadedAt) {
+    }
+}
@@ -0,0 +1,98 @@
+package study.querydsl.query;
+
+import com.querydsl.core.NonUniqueResultException;
+import com.querydsl.core.QueryModifiers;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ParamExpression;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/* 미리 JPQL로 직렬화해 둔 쿼리
+ * 쿼리 모양은 한 번만 만들고, 실행할 때는 Param 값만 바인딩한다.
+ * → 매 호출마다 Q타입 표현식 트리 생성 + JPQL 직렬화를 하지 않음
+ * → JPQL 문자열이 항상 같으므로 Hibernate 쿼리 플랜 캐시도 항상 hit
+ *
+ * PreparedQuery 자체는 불변이므로 싱글톤 필드로 두고 여러 스레드에서 써도 된다.
+ * bind()가 반환하는 Execution은 한 번의 실행에만 사용한다.
+ */
+public class PreparedQuery<T> {
+
+    private final EntityManager em;
+    private final String jpql;
+    private final List<Object> constants;
+    private final Expression<?> projection;
+    private final QueryModifiers modifiers;
+
+    PreparedQuery(EntityManager em, String jpql, List<Object> constants,
+                  Expression<?> projection, QueryModifiers modifiers) {
+        this.em = em;
+        this.jpql = jpql;
+        this.constants = List.copyOf(constants);
+        this.projection = projection;
+        this.modifiers = modifiers;
+    }
+
+    public String getJpql() {
+        return jpql;
+    }
+
+    public <P> Execution bind(ParamExpression<P> param, P value) {
+        return new Execution().bind(param, value);
+    }
+
+    public Execution execution() {
+        return new Execution();
+    }
+
+    public class Execution {
+        private final Map<ParamExpression<?>, Object> bindings = new HashMap<>();
+
+        public <P> Execution bind(ParamExpression<P> param, P value) {
+            bindings.put(param, value);
+            return this;
+        }
+
+        public List<T> fetch() {
+            List<?> rows = createQuery().getResultList();
+            List<T> results = new ArrayList<>(rows.size());
+            for (Object row : rows) {
+                results.add(ProjectionRows.convert(projection, row));
+            }
+            return results;
+        }
+
+        public T fetchOne() {
+            List<T> results = fetch();
+            if (results.size() > 1) {
+                throw new NonUniqueResultException();
+            }
+            return results.isEmpty() ? null : results.get(0);
+        }
+
+        private Query createQuery() {
+            Query query = em.createQuery(jpql);
+            for (int i = 0; i < constants.size(); i++) {
+                Object value = constants.get(i);
+                if (value instanceof ParamExpression<?> param) {
+                    if (!bindings.containsKey(param)) {
+                        throw new IllegalStateException("파라미터 값이 없습니다: " + param.getName());
+                    }
+                    value = bindings.get(param);
+                }
+                query.setParameter(i + 1, value);
+            }
+            if (modifiers.getLimit() != null) {
+                query.setMaxResults(Math.toIntExact(modifiers.getLimit()));
+            }
+            if (modifiers.getOffset() != null) {
+                query.setFirstResult(Math.toIntExact(modifiers.getOffset()));
+            }
+            return query;
+        }
+    }
+}
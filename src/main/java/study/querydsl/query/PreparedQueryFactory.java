@@ -0,0 +1,36 @@
+package study.querydsl.query;
+
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.jpa.JPQLSerializer;
+import com.querydsl.jpa.JPQLTemplates;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+/* PreparedQuery 생성
+ * 값이 바뀌는 자리는 상수 대신 Param을 사용해서 정의한다.
+ *
+ * Param<String> username = new Param<>(String.class, "username");
+ * PreparedQuery<Member> byUsername = preparedQueryFactory.prepare(
+ *         queryFactory.selectFrom(member).where(member.username.eq(username)));
+ * byUsername.bind(username, "member1").fetchOne();
+ */
+@Component
+public class PreparedQueryFactory {
+
+    private final EntityManager em;
+    private final JPQLTemplates templates;
+
+    public PreparedQueryFactory(EntityManager em, JPQLTemplates templates) {
+        this.em = em;
+        this.templates = templates;
+    }
+
+    public <T> PreparedQuery<T> prepare(JPAQuery<T> query) {
+        QueryMetadata metadata = query.getMetadata();
+        JPQLSerializer serializer = new JPQLSerializer(templates, em);
+        serializer.serialize(metadata, false, null);
+        return new PreparedQuery<>(em, serializer.toString(), serializer.getConstants(),
+                metadata.getProjection(), metadata.getModifiers());
+    }
+}
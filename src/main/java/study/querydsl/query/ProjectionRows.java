@@ -0,0 +1,22 @@
+package study.querydsl.query;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpression;
+
+/* JPA가 돌려준 행(Object[] 또는 단일 값)을 QueryDSL projection 타입으로 변환
+ * JPAQuery.fetch()를 거치지 않고 jakarta.persistence.Query를 직접 실행할 때 사용한다.
+ */
+public final class ProjectionRows {
+
+    private ProjectionRows() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T convert(Expression<?> projection, Object row) {
+        if (projection instanceof FactoryExpression<?> factory && !factory.getType().isInstance(row)) {
+            Object[] args = row instanceof Object[] array ? array : new Object[]{row};
+            return (T) factory.newInstance(args);
+        }
+        return (T) row;
+    }
+}
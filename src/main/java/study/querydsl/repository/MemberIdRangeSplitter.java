@@ -0,0 +1,68 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* member PK를 행 수가 고른 [from, to] 구간으로 나눔 (병렬 집계/export에서 구간마다 스레드 하나)
+ * 경계는 실제 id에서 뽑으므로 id가 듬성듬성해도 빈 구간이 생기지 않는다.
+ * 윈도 함수(ntile, row_number)로 버킷을 매기고 버킷별 min/max id만 돌려받는다.
+ * → 쿼리 한 번(PK 인덱스 한 번 스캔), 결과는 구간 수만큼. 구간마다 offset으로 다시 읽지 않는다.
+ * 구간 끝은 다음 구간 시작 - 1, 마지막 구간 끝은 max(id) (구간 사이 id에 나중에 들어온 행도 포함)
+ * QueryDSL JPA는 윈도 함수를 지원하지 않으므로 네이티브 쿼리를 사용한다.
+ */
+@Component
+@Transactional(readOnly = true)
+public class MemberIdRangeSplitter {
+
+    private static final String RANGES_SQL = """
+            select min(member_id), max(member_id)
+            from (select member_id, %s as bucket from member) ranked
+            group by bucket
+            order by bucket""";
+    //구간 수를 정하는 경우 : 행 수 차이는 최대 1
+    private static final String NTILE = "ntile(?) over (order by member_id)";
+    //구간 크기를 정하는 경우 : 마지막 구간만 작을 수 있음
+    private static final String ROW_BUCKET = "(row_number() over (order by member_id) - 1) / ?";
+
+    private final EntityManager em;
+
+    public MemberIdRangeSplitter(EntityManager em) {
+        this.em = em;
+    }
+
+    /* partitions개 구간 (행이 partitions보다 적으면 행 수만큼) */
+    public List<long[]> split(int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("구간 수는 1 이상이어야 합니다: " + partitions);
+        }
+        return ranges(NTILE, partitions);
+    }
+
+    /* rowsPerPartition행씩 끊은 구간 */
+    public List<long[]> splitByRows(long rowsPerPartition) {
+        if (rowsPerPartition <= 0) {
+            throw new IllegalArgumentException("구간 크기는 1 이상이어야 합니다: " + rowsPerPartition);
+        }
+        return ranges(ROW_BUCKET, rowsPerPartition);
+    }
+
+    private List<long[]> ranges(String bucket, long parameter) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> buckets = em.createNativeQuery(RANGES_SQL.formatted(bucket))
+                .setParameter(1, parameter)
+                .getResultList();
+        List<long[]> ranges = new ArrayList<>(buckets.size());
+        for (int i = 0; i < buckets.size(); i++) {
+            long from = ((Number) buckets.get(i)[0]).longValue();
+            long to = i + 1 < buckets.size()
+                    ? ((Number) buckets.get(i + 1)[0]).longValue() - 1
+                    : ((Number) buckets.get(i)[1]).longValue();
+            ranges.add(new long[]{from, to});
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,152 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.QTeamAgeStatsDto;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.paging.PageFetcher;
+import study.querydsl.streaming.QueryStreamer;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 회원 조회 전용 리포지토리
+ * 조회 경로는 DTO projection을 사용한다. (엔티티를 영속성 컨텍스트에 올리지 않음)
+ * 읽기 전용 트랜잭션 : 스프링이 Hibernate FlushMode.MANUAL, 세션 기본 읽기 전용, connection.setReadOnly(true)를 적용한다.
+ * (레플리카 라우팅이 켜져 있으면 레플리카에서 읽음)
+ * 호출한 쪽의 쓰기 트랜잭션에 참여하면 readOnly는 무시되므로 엔티티 조회는 쿼리 힌트로도 읽기 전용을 지정한다.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class MemberQueryRepository {
+
+    private final JPAQueryFactory queryFactory;
+    private final PageFetcher pageFetcher;
+    private final QueryStreamer queryStreamer;
+
+    public MemberQueryRepository(JPAQueryFactory queryFactory, PageFetcher pageFetcher, QueryStreamer queryStreamer) {
+        this.queryFactory = queryFactory;
+        this.pageFetcher = pageFetcher;
+        this.queryStreamer = queryStreamer;
+    }
+
+    public List<MemberDto> findAllMembers() {
+        return queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .fetch();
+    }
+
+    public List<MemberTeamDto> findAllMemberTeams() {
+        return queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .fetch();
+    }
+
+    public List<MemberTeamDto> findByTeamName(String teamName) {
+        return queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq(teamName))
+                .fetch();
+    }
+
+    public MemberTeamDto findByUsername(String username) {
+        return queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(member.username.eq(username))
+                .fetchFirst();
+    }
+
+    /* 엔티티가 꼭 필요한 경우 : 읽기 전용으로 로딩 (스냅샷 없음, dirty checking/flush 대상 아님)
+     * 팀 이름 조건 때문에 조인하는 김에 팀도 fetch join으로 같이 올린다. (member.getTeam() 접근 시 추가 select 없음)
+     */
+    public List<Member> findMembers(MemberSearchCondition condition) {
+        return queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .where(MemberSearchPredicates.of(condition))
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .fetch();
+    }
+
+    public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        return queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(member.id.asc())
+                .fetch();
+    }
+
+    public Page<MemberTeamDto> searchPage(MemberSearchCondition condition, Pageable pageable) {
+        JPAQuery<MemberTeamDto> content = queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(member.id.asc());
+        return pageFetcher.fetch(content, () -> queryFactory
+                .select(member.count())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .fetchOne(), pageable);
+    }
+
+    /* 검색 결과를 List로 모으지 않고 DB 커서에서 한 건씩 넘긴다. (id 순) 처리한 건수를 반환 */
+    public long forEachSearch(MemberSearchCondition condition, Consumer<? super MemberTeamDto> consumer) {
+        return queryStreamer.forEach(queryFactory
+                .select(memberTeamDto())
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .orderBy(member.id.asc()), consumer);
+    }
+
+    /* 팀별 나이 통계 (팀이 없는 회원은 제외)
+     * Hibernate 6에서 sum(int)의 결과는 Long이므로 타입을 맞춰서 조회한다.
+     * 팀 이름은 유일하지 않으므로 id로 묶는다. (이름이 같은 팀은 각각 한 줄, 이름 → id 순)
+     */
+    public List<TeamAgeStatsDto> teamAgeStats(MemberSearchCondition condition) {
+        return queryFactory
+                .select(new QTeamAgeStatsDto(
+                        team.id,
+                        team.name,
+                        member.count(),
+                        member.age.sum().longValue(),
+                        member.age.avg(),
+                        member.age.min(),
+                        member.age.max()))
+                .from(member)
+                .join(member.team, team)
+                .where(MemberSearchPredicates.of(condition))
+                .groupBy(team.id, team.name)
+                .orderBy(team.name.asc(), team.id.asc())
+                .fetch();
+    }
+
+    private static QMemberTeamDto memberTeamDto() {
+        return new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name);
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* MemberSearchCondition → where 조건
+ * 1) null/빈 조건은 생략
+ * 2) 선택도가 높은(결과를 많이 줄이는) 인덱스 컬럼 조건이 먼저 오도록 정렬
+ * 3) ageGoe + ageLoe → between, 범위가 뒤집혀 있으면 결과 없음
+ * 4) "abc*" 키워드는 contains 대신 startsWith (like 'abc%'는 인덱스 사용 가능, '%abc%'는 불가)
+ * teamName 조건은 team 별칭을 사용하므로 호출하는 쪽에서 member.team → team으로 조인해야 한다.
+ */
+public final class MemberSearchPredicates {
+
+    private static final String PREFIX_WILDCARD = "*";
+
+    /* 선택도 순위 : 작을수록 먼저 */
+    private enum Rank {
+        USERNAME_EQ, TEAM_ID_EQ, USERNAME_PREFIX, TEAM_NAME_EQ, AGE_RANGE, USERNAME_CONTAINS
+    }
+
+    private record Ranked(Rank rank, BooleanExpression predicate) {
+    }
+
+    private MemberSearchPredicates() {
+    }
+
+    public static Predicate of(MemberSearchCondition condition) {
+        List<Ranked> predicates = new ArrayList<>();
+        if (hasText(condition.getUsername())) {
+            predicates.add(new Ranked(Rank.USERNAME_EQ, member.username.eq(condition.getUsername())));
+        }
+        if (condition.getTeamId() != null) {
+            predicates.add(new Ranked(Rank.TEAM_ID_EQ, member.team.id.eq(condition.getTeamId())));
+        }
+        if (hasText(condition.getTeamName())) {
+            predicates.add(new Ranked(Rank.TEAM_NAME_EQ, team.name.eq(condition.getTeamName())));
+        }
+        addUsernameKeyword(predicates, condition.getUsernameKeyword());
+        addAgeRange(predicates, condition.getAgeGoe(), condition.getAgeLoe());
+
+        BooleanBuilder builder = new BooleanBuilder();
+        predicates.stream()
+                .sorted(Comparator.comparing(Ranked::rank))
+                .forEach(ranked -> builder.and(ranked.predicate()));
+        return builder;
+    }
+
+    private static void addUsernameKeyword(List<Ranked> predicates, String keyword) {
+        if (!hasText(keyword)) {
+            return;
+        }
+        if (keyword.endsWith(PREFIX_WILDCARD)) {
+            String prefix = keyword.substring(0, keyword.length() - PREFIX_WILDCARD.length());
+            if (hasText(prefix)) {
+                predicates.add(new Ranked(Rank.USERNAME_PREFIX, member.username.startsWith(prefix)));
+            }
+            return;
+        }
+        predicates.add(new Ranked(Rank.USERNAME_CONTAINS, member.username.contains(keyword)));
+    }
+
+    private static void addAgeRange(List<Ranked> predicates, Integer ageGoe, Integer ageLoe) {
+        if (ageGoe != null && ageLoe != null) {
+            predicates.add(new Ranked(Rank.AGE_RANGE, ageGoe <= ageLoe
+                    ? member.age.between(ageGoe, ageLoe)
+                    : Expressions.booleanTemplate("1 = 0")));
+        } else if (ageGoe != null) {
+            predicates.add(new Ranked(Rank.AGE_RANGE, member.age.goe(ageGoe)));
+        } else if (ageLoe != null) {
+            predicates.add(new Ranked(Rank.AGE_RANGE, member.age.loe(ageLoe)));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 팀 목록의 members 컬렉션을 한 번에 로딩
+ * 팀마다 team.getMembers()를 건드리면 팀 수만큼 select가 나간다. (N+1)
+ * team_id IN (...) + fetch join으로 한 번에 조회하면 영속성 컨텍스트의 Team.members 컬렉션이 초기화된다.
+ * IN 목록이 너무 길어지지 않도록 chunkSize 단위로 나눠서 조회한다.
+ */
+@Component
+public class TeamMembersLoader {
+
+    private static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final JPAQueryFactory queryFactory;
+
+    public TeamMembersLoader(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    public List<Team> loadWithMembers(List<Long> teamIds) {
+        return loadWithMembers(teamIds, DEFAULT_CHUNK_SIZE);
+    }
+
+    public List<Team> loadWithMembers(List<Long> teamIds, int chunkSize) {
+        List<Team> teams = new ArrayList<>(teamIds.size());
+        for (int from = 0; from < teamIds.size(); from += chunkSize) {
+            List<Long> chunk = teamIds.subList(from, Math.min(from + chunkSize, teamIds.size()));
+            teams.addAll(queryFactory
+                    .selectFrom(team)
+                    .leftJoin(team.members, member).fetchJoin()
+                    .where(team.id.in(chunk))
+                    .fetch());
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,65 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.entity.TeamStats;
+
+import java.util.List;
+
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+/* 미리 집계된 team_stats 조회 (member 전체 스캔 없이 팀 수만큼만 읽음)
+ * 읽기만 한다. 최솟값/최댓값 갱신은 쓰는 쪽(TeamStatsUpdater, TeamStatsReconciler)에서 커밋 전에 끝낸다.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class TeamStatsRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    public TeamStatsRepository(JPAQueryFactory queryFactory) {
+        this.queryFactory = queryFactory;
+    }
+
+    /* 회원이 있는 팀만, 팀 이름 순 */
+    public List<TeamAgeStatsDto> teamAgeStats() {
+        List<Tuple> rows = queryFactory
+                .select(team.name, teamStats)
+                .from(teamStats)
+                .join(team).on(team.id.eq(teamStats.teamId))
+                .where(teamStats.memberCount.gt(0))
+                .orderBy(team.name.asc(), team.id.asc())
+                .fetch();
+        return rows.stream()
+                .map(row -> toDto(row.get(team.name), row.get(teamStats)))
+                .toList();
+    }
+
+    /* 전체 회원 count/sum/avg/min/max (팀 없는 회원 포함) */
+    public TeamAgeStatsDto totalStats() {
+        Tuple row = queryFactory
+                .select(teamStats.memberCount.sum(),
+                        teamStats.ageSum.sum(),
+                        teamStats.ageMin.min(),
+                        teamStats.ageMax.max())
+                .from(teamStats)
+                .fetchOne();
+        Long count = row.get(0, Long.class);
+        Long ageSum = row.get(1, Long.class);
+        return new TeamAgeStatsDto(null, null,
+                count == null ? 0L : count,
+                ageSum == null ? 0L : ageSum,
+                count == null || count == 0 ? null : (double) ageSum / count,
+                row.get(2, Integer.class),
+                row.get(3, Integer.class));
+    }
+
+    private static TeamAgeStatsDto toDto(String teamName, TeamStats stats) {
+        return new TeamAgeStatsDto(stats.getTeamId(), teamName, stats.getMemberCount(), stats.getAgeSum(), stats.getAgeAvg(),
+                stats.getAgeMin(), stats.getAgeMax());
+    }
+}
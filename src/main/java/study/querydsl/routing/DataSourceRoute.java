@@ -0,0 +1,5 @@
+package study.querydsl.routing;
+
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
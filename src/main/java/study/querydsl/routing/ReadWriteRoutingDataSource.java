@@ -0,0 +1,101 @@
+package study.querydsl.routing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/* 읽기/쓰기 라우팅 DataSource
+ * @Transactional(readOnly = true) 안에서 얻는 커넥션은 레플리카, 나머지는 primary
+ * 레플리카가 지연되었거나(ReplicaLagMonitor) 커넥션을 얻지 못하면 primary로 대신 읽는다.
+ * 트랜잭션의 readOnly 여부는 트랜잭션이 시작된 뒤에 정해지므로 반드시 LazyConnectionDataSourceProxy로 감싸서
+ * 첫 SQL 실행 시점에 커넥션을 얻도록 해야 한다. (RoutingDataSourceConfig)
+ * 라우팅 횟수 : querydsl.datasource.route{route=primary|replica}, 대체 횟수 : querydsl.datasource.replica.fallback
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+
+    private final Counter primaryRoutes;
+    private final Counter replicaRoutes;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica,
+                                      ReplicaLagMonitor lagMonitor, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.primaryRoutes = routeCounter(meterRegistry, DataSourceRoute.PRIMARY);
+        this.replicaRoutes = routeCounter(meterRegistry, DataSourceRoute.REPLICA);
+        this.fallbacks = Counter.builder("querydsl.datasource.replica.fallback")
+                .description("레플리카 대신 primary에서 실행한 읽기 트랜잭션 수")
+                .register(meterRegistry);
+        Gauge.builder("querydsl.datasource.replica.lag", lagMonitor, monitor -> monitor.getLag().toMillis() / 1000.0)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                lagMonitor.markUnavailable(e);
+                fallbacks.increment();
+            }
+        }
+        primaryRoutes.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (readReplica()) {
+            try {
+                Connection connection = replica.getConnection(username, password);
+                replicaRoutes.increment();
+                return connection;
+            } catch (SQLException e) {
+                lagMonitor.markUnavailable(e);
+                fallbacks.increment();
+            }
+        }
+        primaryRoutes.increment();
+        return primary.getConnection(username, password);
+    }
+
+    /* 현재 스레드의 트랜잭션이 지금 커넥션을 얻는다면 어디로 가는지 */
+    public DataSourceRoute currentRoute() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()
+                ? DataSourceRoute.REPLICA
+                : DataSourceRoute.PRIMARY;
+    }
+
+    private boolean readReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (lagMonitor.isReplicaUsable()) {
+            return true;
+        }
+        fallbacks.increment();
+        return false;
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, DataSourceRoute route) {
+        return Counter.builder("querydsl.datasource.route")
+                .tag("route", route.name().toLowerCase())
+                .description("라우팅된 커넥션 수")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package study.querydsl.routing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.util.StringUtils.hasText;
+
+/* 레플리카 지연(lag) 감시
+ * checkInterval마다 레플리카에 lagQuery(지연 시간을 초 단위 숫자로 반환)를 실행한다.
+ * 예) PostgreSQL : select extract(epoch from now() - pg_last_xact_replay_timestamp())
+ * lagQuery가 없으면 커넥션을 얻을 수 있는지만 확인한다.
+ * 커넥션을 얻지 못하거나 지연이 maxLag를 넘으면 읽기도 primary로 보낸다. (다음 검사에서 회복되면 다시 레플리카로)
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean available = true;
+    private volatile Duration lag = Duration.ZERO;
+
+    /* checkInterval이 0이면 주기적으로 검사하지 않는다. (check()/update()를 직접 호출) */
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        if (checkInterval.isZero()) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isReplicaUsable() {
+        return available && lag.compareTo(maxLag) <= 0;
+    }
+
+    public void check() {
+        try (Connection connection = replica.getConnection()) {
+            if (!hasText(lagQuery)) {
+                update(Duration.ZERO);
+                return;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                double seconds = rs.next() ? rs.getDouble(1) : 0;
+                update(Duration.ofMillis((long) (seconds * 1000)));
+            }
+        } catch (Exception e) {
+            markUnavailable(e);
+        }
+    }
+
+    public void update(Duration lag) {
+        if (!available) {
+            log.info("레플리카 복구 - lag {}", lag);
+        }
+        this.lag = lag;
+        this.available = true;
+    }
+
+    public void markUnavailable(Exception cause) {
+        if (available) {
+            log.warn("레플리카 사용 불가 → 읽기를 primary로 보냅니다. ({})", cause.toString());
+        }
+        this.available = false;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public Duration getLag() {
+        return lag;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
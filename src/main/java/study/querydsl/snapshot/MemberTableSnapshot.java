@@ -0,0 +1,288 @@
+package study.querydsl.snapshot;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.cache.QueryResultCache;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.export.VarInts;
+import study.querydsl.stats.TeamStatsReconciler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+/* member/team 테이블 스냅샷 (엔티티를 거치지 않고 JDBC로 덤프/적재)
+ * 파일 = MAGIC | VERSION | long 팀 수 | long 회원 수 | 팀* | 회원*
+ * - 팀 : zigzag varint (id - 이전 팀 id) | 이름
+ * - 회원 : zigzag varint (id - 이전 회원 id) | username | zigzag varint age | varint 팀 번호 (파일 안 팀 순서 + 1, 0 = 팀 없음)
+ * - 문자열 : varint (바이트 길이 + 1, 0 = null) + UTF-8
+ * 덤프는 team, member를 차례로 읽으므로 REPEATABLE_READ 트랜잭션 하나에서 읽는다.
+ * (READ_COMMITTED면 그 사이에 커밋된 새 팀의 회원이 보여서 파일에 없는 팀을 가리킴)
+ * 적재는 파일을 메모리 맵으로 열고 batchSize행씩 바로 PreparedStatement에 디코딩해서 JDBC 배치로 넣는다.
+ * (행 객체/영속성 컨텍스트/시퀀스 호출 없음, 배치마다 커밋해서 undo 로그가 커지지 않게 함)
+ * 적재 후 시퀀스를 최대 id 뒤로 옮기고, 캐시를 비우고, team_stats를 다시 집계한다.
+ * 시퀀스 값을 미리 받아 둔 id 생성기는 옛 범위를 계속 쓰므로 엔티티를 저장하기 전(기동 시점)에 적재할 것
+ * 적재 중에 실패하면 그때까지 커밋된 배치는 남는다.
+ */
+@Slf4j
+@Component
+public class MemberTableSnapshot {
+
+    static final int MAGIC = 0x4D534E50; //"MSNP"
+    static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 24;
+    private static final int BUFFER_BYTES = 1024 * 1024;
+    //엔티티 시퀀스 allocationSize 이상 (pooled 옵티마이저는 시퀀스 값보다 allocationSize만큼 작은 id부터 쓴다)
+    private static final long SEQUENCE_GAP = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory emf;
+    private final QueryResultCache queryResultCache;
+    private final TeamStatsReconciler teamStatsReconciler;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public MemberTableSnapshot(JdbcTemplate jdbcTemplate, EntityManagerFactory emf, QueryResultCache queryResultCache,
+                               TeamStatsReconciler teamStatsReconciler, PlatformTransactionManager transactionManager,
+                               @Value("${querydsl.snapshot.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.emf = emf;
+        this.queryResultCache = queryResultCache;
+        this.teamStatsReconciler = teamStatsReconciler;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /* 덤프한 회원 수를 반환 */
+    public long dump(Path file) throws IOException {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            SnapshotOutput out = new SnapshotOutput(channel);
+            out.buffer.putInt(MAGIC).putInt(VERSION).putLong(0).putLong(0);
+            long[] counts = readTransaction.execute(status -> dumpRows(out));
+            out.flush();
+            //건수는 다 쓴 뒤에 알 수 있으므로 헤더에 다시 쓴다.
+            ByteBuffer header = ByteBuffer.allocate(Long.BYTES * 2).putLong(counts[0]).putLong(counts[1]).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, Integer.BYTES * 2 + header.position());
+            }
+            log.info("member/team 스냅샷 덤프 완료 - 팀 {}개, 회원 {}명, {} bytes, {}ms : {}",
+                    counts[0], counts[1], channel.size(), (System.nanoTime() - start) / 1_000_000, file);
+            return counts[1];
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /* member/team 테이블에 적재 (기존 행과 id가 겹치면 실패), 적재한 회원 수를 반환 */
+    public long load(Path file) throws IOException {
+        long start = System.nanoTime();
+        long teamCount;
+        long memberCount;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("스냅샷 파일이 너무 큼 (최대 2GB) : " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("member/team 스냅샷 파일이 아님 : " + file);
+            }
+            teamCount = buffer.getLong();
+            memberCount = buffer.getLong();
+            long[] teamIds = new long[Math.toIntExact(teamCount)];
+            insert("insert into team (team_id, name) values (?, ?)", teamCount, new RowDecoder(buffer) {
+                @Override
+                void decode(PreparedStatement ps) throws SQLException {
+                    lastId += VarInts.getZigZag(buffer);
+                    teamIds[rows++] = lastId;
+                    ps.setLong(1, lastId);
+                    ps.setString(2, getText(buffer));
+                }
+            });
+            insert("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)", memberCount, new RowDecoder(buffer) {
+                @Override
+                void decode(PreparedStatement ps) throws SQLException {
+                    lastId += VarInts.getZigZag(buffer);
+                    ps.setLong(1, lastId);
+                    ps.setString(2, getText(buffer));
+                    ps.setInt(3, (int) VarInts.getZigZag(buffer));
+                    int team = VarInts.getVarInt(buffer);
+                    if (team == 0) {
+                        ps.setNull(4, Types.BIGINT);
+                    } else {
+                        ps.setLong(4, teamIds[team - 1]);
+                    }
+                }
+            });
+            if (buffer.hasRemaining()) {
+                throw new IOException("스냅샷 파일 끝에 읽지 않은 " + buffer.remaining() + " bytes : " + file);
+            }
+        } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+            throw new IOException("스냅샷 파일이 잘림 : " + file, e);
+        }
+
+        restartSequence("team_seq", "team", "team_id");
+        restartSequence("member_seq", "member", "member_id");
+        emf.getCache().evict(Team.class);
+        queryResultCache.invalidate(Team.class);
+        queryResultCache.invalidate(Member.class);
+        teamStatsReconciler.reconcileAll();
+        log.info("member/team 스냅샷 적재 완료 - 팀 {}개, 회원 {}명, {}ms : {}",
+                teamCount, memberCount, (System.nanoTime() - start) / 1_000_000, file);
+        return memberCount;
+    }
+
+    private long[] dumpRows(SnapshotOutput out) {
+        Map<Long, Integer> teamRefs = new HashMap<>();
+        long[] lastId = {0};
+        jdbcTemplate.query("select team_id, name from team order by team_id", rs -> {
+            long teamId = rs.getLong(1);
+            byte[] name = utf8(rs.getString(2));
+            out.ensureRemaining(VarInts.MAX_VAR_LONG_BYTES + VarInts.MAX_VAR_INT_BYTES + length(name));
+            VarInts.putZigZag(out.buffer, teamId - lastId[0]);
+            putText(out.buffer, name);
+            lastId[0] = teamId;
+            teamRefs.put(teamId, teamRefs.size() + 1);
+        });
+
+        long[] members = {0};
+        lastId[0] = 0;
+        jdbcTemplate.query("select member_id, username, age, team_id from member order by member_id", rs -> {
+            long memberId = rs.getLong(1);
+            byte[] username = utf8(rs.getString(2));
+            long teamId = rs.getLong(4);
+            int team = rs.wasNull() ? 0 : teamRefs.get(teamId);
+            out.ensureRemaining(VarInts.MAX_VAR_LONG_BYTES * 2 + VarInts.MAX_VAR_INT_BYTES * 2 + length(username));
+            VarInts.putZigZag(out.buffer, memberId - lastId[0]);
+            putText(out.buffer, username);
+            VarInts.putZigZag(out.buffer, rs.getInt(3));
+            VarInts.putVarInt(out.buffer, team);
+            lastId[0] = memberId;
+            members[0]++;
+        });
+        return new long[]{teamRefs.size(), members[0]};
+    }
+
+    /* batchSize행씩 나눠서 각각 커밋 */
+    private void insert(String sql, long count, RowDecoder decoder) {
+        for (long from = 0; from < count; from += batchSize) {
+            int size = (int) Math.min(batchSize, count - from);
+            batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+                //JdbcTemplate은 0번 행부터 순서대로 한 번씩 호출하므로 파일을 앞에서부터 읽어 나간다.
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    decoder.decode(ps);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return size;
+                }
+            }));
+        }
+    }
+
+    /* 다음 값이 (현재 최대 id + 간격)부터 나오도록 시퀀스를 다시 시작 */
+    private void restartSequence(String sequence, String table, String idColumn) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(" + idColumn + "), 0) from " + table, Long.class);
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + SEQUENCE_GAP + 1));
+    }
+
+    private static void putText(ByteBuffer buffer, byte[] text) {
+        VarInts.putVarInt(buffer, text == null ? 0 : text.length + 1);
+        if (text != null) {
+            buffer.put(text);
+        }
+    }
+
+    private static String getText(ByteBuffer buffer) {
+        int length = VarInts.getVarInt(buffer);
+        if (length == 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length - 1];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] text) {
+        return text == null ? 0 : text.length;
+    }
+
+    /* 맵 버퍼에서 한 행을 읽어서 PreparedStatement에 바인딩 (id는 이전 행과의 차이로 저장됨) */
+    private abstract static class RowDecoder {
+
+        final ByteBuffer buffer;
+        long lastId;
+        int rows;
+
+        RowDecoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        abstract void decode(PreparedStatement ps) throws SQLException;
+    }
+
+    /* direct buffer에 모았다가 가득 차면 FileChannel로 쓴다. (JDBC 콜백 안에서 쓰므로 IOException은 감싸서 던짐) */
+    private static final class SnapshotOutput {
+
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+        SnapshotOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void ensureRemaining(int bytes) {
+            if (buffer.remaining() >= bytes) {
+                return;
+            }
+            flush();
+            if (buffer.capacity() < bytes) {
+                buffer = ByteBuffer.allocateDirect(bytes);
+            }
+        }
+
+        void flush() {
+            buffer.flip();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
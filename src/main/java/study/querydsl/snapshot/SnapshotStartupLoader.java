@@ -0,0 +1,53 @@
+package study.querydsl.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/* 기동 시 스냅샷 적재 (querydsl.snapshot.file, 비워 두면 끔)
+ * member/team 테이블이 비어 있을 때만 적재한다. (ApplicationRunner이므로 ApplicationReadyEvent 전에 끝남)
+ * 스냅샷 만들기 : MemberTableSnapshot.dump(path)
+ */
+@Slf4j
+@Component
+public class SnapshotStartupLoader implements ApplicationRunner {
+
+    private final MemberTableSnapshot snapshot;
+    private final JdbcTemplate jdbcTemplate;
+    private final String file;
+
+    public SnapshotStartupLoader(MemberTableSnapshot snapshot, JdbcTemplate jdbcTemplate,
+                                 @Value("${querydsl.snapshot.file:}") String file) {
+        this.snapshot = snapshot;
+        this.jdbcTemplate = jdbcTemplate;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!StringUtils.hasText(file)) {
+            return;
+        }
+        Path path = Path.of(file);
+        if (!Files.exists(path)) {
+            log.warn("스냅샷 파일 없음, 적재 건너뜀 : {}", path);
+            return;
+        }
+        if (hasRows("member") || hasRows("team")) {
+            log.info("member/team 테이블에 데이터가 있어서 스냅샷 적재 건너뜀 : {}", path);
+            return;
+        }
+        snapshot.load(path);
+    }
+
+    private boolean hasRows(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select exists(select 1 from " + table + ")", Boolean.class));
+    }
+}
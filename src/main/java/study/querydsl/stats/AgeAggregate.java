@@ -0,0 +1,14 @@
+package study.querydsl.stats;
+
+/* 합칠 수 있는(mergeable) 나이 집계 : 평균은 합계/건수로 계산하므로 부분 결과끼리 정확히 합쳐진다. */
+public record AgeAggregate(long count, long sum, int min, int max) {
+
+    public AgeAggregate merge(AgeAggregate other) {
+        return new AgeAggregate(count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    public double avg() {
+        return (double) sum / count;
+    }
+}
@@ -0,0 +1,144 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.repository.MemberIdRangeSplitter;
+import study.querydsl.repository.MemberSearchPredicates;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 팀별 나이 통계를 id 구간별로 나눠서 병렬 집계
+ * 1) member 행 수를 partitions등분하는 id 경계(분위수)를 구한다. (MemberIdRangeSplitter, id가 듬성듬성해도 구간별 행 수가 고름)
+ * 2) 구간마다 별도 스레드/읽기 전용 트랜잭션(커넥션)에서 member.id.between + groupBy(team.id, team.name) 부분 집계
+ * 3) 부분 결과의 count/sum/min/max를 팀별로 합친다. (평균은 합친 sum/count)
+ * having 조건은 부분 결과로는 판단할 수 없으므로(예: 구간별 count) 합친 뒤에 적용한다.
+ * 동시 실행 수는 parallelism(스레드 수)으로 제한한다. 커넥션 풀 크기를 넘지 않게 설정할 것
+ */
+@Component
+public class ParallelTeamAggregator implements DisposableBean {
+
+    //MemberQueryRepository.teamAgeStats와 같은 순서 : 팀 이름 → id
+    private static final Comparator<TeamKey> TEAM_ORDER =
+            Comparator.comparing(TeamKey::name).thenComparing(TeamKey::id);
+
+    private final JPAQueryFactory queryFactory;
+    private final MemberIdRangeSplitter idRangeSplitter;
+    private final TransactionTemplate partitionTransaction;
+    private final ExecutorService executor;
+    private final int parallelism;
+
+    public ParallelTeamAggregator(JPAQueryFactory queryFactory, MemberIdRangeSplitter idRangeSplitter,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${querydsl.aggregation.parallelism:4}") int parallelism) {
+        this.queryFactory = queryFactory;
+        this.idRangeSplitter = idRangeSplitter;
+        this.partitionTransaction = new TransactionTemplate(transactionManager);
+        this.partitionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.partitionTransaction.setReadOnly(true);
+        this.parallelism = parallelism;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, task -> {
+            Thread thread = new Thread(task, "team-aggregate-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<TeamAgeStatsDto> aggregateByTeam(MemberSearchCondition condition) {
+        return aggregateByTeam(condition, stats -> true, parallelism);
+    }
+
+    public List<TeamAgeStatsDto> aggregateByTeam(MemberSearchCondition condition, Predicate<TeamAgeStatsDto> having) {
+        return aggregateByTeam(condition, having, parallelism);
+    }
+
+    /* 팀 이름 순으로 반환 (MemberQueryRepository.teamAgeStats와 같은 결과) */
+    public List<TeamAgeStatsDto> aggregateByTeam(MemberSearchCondition condition, Predicate<TeamAgeStatsDto> having,
+                                                 int partitions) {
+        List<long[]> ranges = idRangeSplitter.split(partitions);
+        if (ranges.isEmpty()) {
+            return List.of();
+        }
+
+        List<Future<Map<TeamKey, AgeAggregate>>> partials = new ArrayList<>(ranges.size());
+        for (long[] bounds : ranges) {
+            partials.add(executor.submit(() -> partitionTransaction.execute(
+                    status -> aggregatePartition(condition, bounds[0], bounds[1]))));
+        }
+
+        Map<TeamKey, AgeAggregate> merged = new TreeMap<>(TEAM_ORDER);
+        try {
+            for (Future<Map<TeamKey, AgeAggregate>> partial : partials) {
+                partial.get().forEach((teamKey, aggregate) -> merged.merge(teamKey, aggregate, AgeAggregate::merge));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            partials.forEach(partial -> partial.cancel(true));
+            throw new IllegalStateException("팀 집계 중 인터럽트", e);
+        } catch (ExecutionException e) {
+            partials.forEach(partial -> partial.cancel(true));
+            throw new IllegalStateException("팀 부분 집계 실패", e.getCause());
+        }
+
+        return merged.entrySet().stream()
+                .map(entry -> toDto(entry.getKey(), entry.getValue()))
+                .filter(having)
+                .toList();
+    }
+
+    private Map<TeamKey, AgeAggregate> aggregatePartition(MemberSearchCondition condition, long fromId, long toId) {
+        List<Tuple> rows = queryFactory
+                .select(team.id,
+                        team.name,
+                        member.count(),
+                        member.age.sum().longValue(),
+                        member.age.min(),
+                        member.age.max())
+                .from(member)
+                .join(member.team, team)
+                .where(member.id.between(fromId, toId), MemberSearchPredicates.of(condition))
+                .groupBy(team.id, team.name)
+                .fetch();
+        Map<TeamKey, AgeAggregate> partial = new TreeMap<>(TEAM_ORDER);
+        for (Tuple row : rows) {
+            partial.put(new TeamKey(row.get(0, Long.class), row.get(1, String.class)), new AgeAggregate(
+                    row.get(2, Long.class),
+                    row.get(3, Long.class),
+                    row.get(4, Integer.class),
+                    row.get(5, Integer.class)));
+        }
+        return partial;
+    }
+
+    private static TeamAgeStatsDto toDto(TeamKey team, AgeAggregate aggregate) {
+        return new TeamAgeStatsDto(team.id(), team.name(), aggregate.count(), aggregate.sum(), aggregate.avg(),
+                aggregate.min(), aggregate.max());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /* 이름이 같은 팀이 있을 수 있으므로 id로 구분 */
+    private record TeamKey(Long id, String name) {
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.stats;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/* 한 트랜잭션(세션) 동안 쌓인 팀별 증감 */
+class TeamStatsDelta {
+
+    private final Map<Long, Change> changes = new HashMap<>();
+
+    void add(long teamId, int age) {
+        Change change = changes.computeIfAbsent(teamId, id -> new Change());
+        change.count++;
+        change.ageSum += age;
+        change.addedMin = change.addedMin == null ? age : Math.min(change.addedMin, age);
+        change.addedMax = change.addedMax == null ? age : Math.max(change.addedMax, age);
+    }
+
+    void remove(long teamId, int age) {
+        Change change = changes.computeIfAbsent(teamId, id -> new Change());
+        change.count--;
+        change.ageSum -= age;
+        change.removedMin = change.removedMin == null ? age : Math.min(change.removedMin, age);
+        change.removedMax = change.removedMax == null ? age : Math.max(change.removedMax, age);
+    }
+
+    Map<Long, Change> changes() {
+        return changes;
+    }
+
+    static final class Change {
+        long count;
+        long ageSum;
+        Integer addedMin;
+        Integer addedMax;
+        //빠진 나이 중 최솟값/최댓값 : 현재 최솟값/최댓값 이하/이상이면 다시 계산 필요
+        Integer removedMin;
+        Integer removedMax;
+    }
+}
@@ -0,0 +1,130 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.TeamStats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+/* team_stats 재계산
+ * 증분 반영이 놓치는 변경(벌크 update/delete, JDBC 직접 적재)을 member 테이블에서 다시 집계해서 맞춘다.
+ * 팀 batchSize개씩 나눠서 각각 별도 트랜잭션으로 (team_id IN + group by, (team_id, age, username) 인덱스 사용)
+ * 재계산 중인 팀에 동시에 들어온 증분 변경은 덮어써질 수 있으므로 변경이 적은 시간대에 실행한다.
+ * 주기 실행 : querydsl.team-stats.reconcile-cron (기본 끔)
+ * 벌크 수정/삭제는 reconcile(teamIds)로 바뀐 팀만 같은 트랜잭션 안에서 맞춘다. (MemberBulkMutationService)
+ */
+@Slf4j
+@Component
+public class TeamStatsReconciler {
+
+    private final EntityManager em;
+    private final JPAQueryFactory queryFactory;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+
+    public TeamStatsReconciler(EntityManager em, JPAQueryFactory queryFactory,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${querydsl.team-stats.reconcile-batch-size:500}") int batchSize) {
+        this.em = em;
+        this.queryFactory = queryFactory;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    /* 전체 재계산, 재계산한 팀 수(팀 없음 포함)를 반환 */
+    @Scheduled(cron = "${querydsl.team-stats.reconcile-cron:-}")
+    public int reconcileAll() {
+        long start = System.nanoTime();
+        List<Long> teamIds = transaction.execute(status -> {
+            //삭제된 팀의 집계 행 정리
+            queryFactory.delete(teamStats)
+                    .where(teamStats.teamId.ne(TeamStats.NO_TEAM),
+                            JPAExpressions.selectOne().from(team).where(team.id.eq(teamStats.teamId)).notExists())
+                    .execute();
+            return queryFactory.select(team.id).from(team).orderBy(team.id.asc()).fetch();
+        });
+        for (int from = 0; from < teamIds.size(); from += batchSize) {
+            List<Long> batch = teamIds.subList(from, Math.min(from + batchSize, teamIds.size()));
+            transaction.executeWithoutResult(status -> recompute(batch));
+        }
+        transaction.executeWithoutResult(status -> recompute(List.of(TeamStats.NO_TEAM)));
+        log.info("team_stats 재계산 완료 - 팀 {}개, {}ms", teamIds.size() + 1, (System.nanoTime() - start) / 1_000_000);
+        return teamIds.size() + 1;
+    }
+
+    /* 지정한 팀만 호출한 쪽 트랜잭션 안에서 재계산 (벌크 연산과 같이 커밋/롤백) */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reconcile(Collection<Long> teamIds) {
+        List<Long> ids = List.copyOf(teamIds);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            recompute(ids.subList(from, Math.min(from + batchSize, ids.size())));
+        }
+    }
+
+    private void recompute(List<Long> teamIds) {
+        Map<Long, Tuple> rows = aggregate(teamIds);
+        queryFactory.delete(teamStats).where(teamStats.teamId.in(teamIds)).execute();
+        for (Long teamId : teamIds) {
+            Tuple row = rows.get(teamId);
+            em.persist(row == null
+                    ? new TeamStats(teamId, 0, 0, null, null)
+                    : new TeamStats(teamId,
+                    row.get(1, Long.class),
+                    row.get(2, Long.class),
+                    row.get(3, Integer.class),
+                    row.get(4, Integer.class)));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    /* 팀별 count/sum/min/max, 팀 없음(NO_TEAM)은 team_id is null 그룹으로 따로 집계 */
+    private Map<Long, Tuple> aggregate(List<Long> teamIds) {
+        Map<Long, Tuple> result = new HashMap<>();
+        List<Long> realTeamIds = teamIds.stream().filter(id -> id != TeamStats.NO_TEAM).toList();
+        if (!realTeamIds.isEmpty()) {
+            for (Tuple row : aggregateQuery(member.team.id.in(realTeamIds))) {
+                result.put(row.get(0, Long.class), row);
+            }
+        }
+        if (realTeamIds.size() < teamIds.size()) {
+            for (Tuple row : aggregateQuery(member.team.isNull())) {
+                result.put(TeamStats.NO_TEAM, row);
+            }
+        }
+        return result;
+    }
+
+    private List<Tuple> aggregateQuery(Predicate where) {
+        return queryFactory
+                .select(member.team.id,
+                        member.count(),
+                        member.age.sum().longValue(),
+                        member.age.min(),
+                        member.age.max())
+                .from(member)
+                .where(where)
+                .groupBy(member.team.id)
+                .fetch();
+    }
+}
@@ -0,0 +1,219 @@
+package study.querydsl.stats;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.TeamStats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Types;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/* Member insert/update(changeTeam, 나이 변경)/delete → team_stats 증분 반영
+ * 변경은 세션(트랜잭션)별로 모아 두었다가 커밋 직전(Hibernate flush 이후, 같은 커넥션) 팀마다 update 한 번으로 반영한다.
+ * 최솟값/최댓값을 가진 회원이 빠져서 stale이 된 팀은 이어서 member에서 min/max만 다시 읽어 채운다.
+ * (team_stats 행 락을 잡은 뒤라 같은 팀을 바꾸는 트랜잭션끼리는 순서대로 반영되고, 조회 쪽은 쓰기 없이 읽기만 한다.)
+ * 트랜잭션이 롤백되면 모아 둔 변경은 버린다.
+ * JPQL 벌크 update/delete, JDBC 직접 insert는 엔티티 이벤트가 없으므로 반영되지 않는다. → TeamStatsReconciler
+ */
+@Slf4j
+@Component
+public class TeamStatsUpdater implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final String UPDATE_SQL = """
+            update team_stats set
+                member_count = member_count + ?,
+                age_sum = age_sum + ?,
+                age_min = coalesce(least(age_min, cast(? as integer)), age_min, cast(? as integer)),
+                age_max = coalesce(greatest(age_max, cast(? as integer)), age_max, cast(? as integer)),
+                min_max_stale = (min_max_stale
+                    or coalesce(cast(? as integer) <= age_min or cast(? as integer) >= age_max, false))
+            where team_id = ?""";
+    private static final String REFRESH_MIN_MAX_SQL = """
+            update team_stats set
+                age_min = (select min(age) from member where team_id = ?),
+                age_max = (select max(age) from member where team_id = ?),
+                min_max_stale = false
+            where team_id = ? and min_max_stale""";
+    private static final String REFRESH_NO_TEAM_MIN_MAX_SQL = """
+            update team_stats set
+                age_min = (select min(age) from member where team_id is null),
+                age_max = (select max(age) from member where team_id is null),
+                min_max_stale = false
+            where team_id = ? and min_max_stale""";
+    private static final String INSERT_SQL = """
+            insert into team_stats (team_id, member_count, age_sum, age_min, age_max, min_max_stale)
+            values (?, ?, ?, ?, ?, ?)""";
+
+    private final EntityManagerFactory emf;
+    private final Map<SessionImplementor, TeamStatsDelta> pending = new ConcurrentHashMap<>();
+
+    public TeamStatsUpdater(EntityManagerFactory emf) {
+        this.emf = emf;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            EntityPersister persister = event.getPersister();
+            Object[] state = event.getState();
+            delta(event.getSession()).add(teamId(persister, state), age(persister, state));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        EntityPersister persister = event.getPersister();
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            log.warn("이전 상태를 알 수 없는 Member 수정 (id={}) - 재계산 전까지 team_stats가 맞지 않을 수 있습니다.", event.getId());
+            return;
+        }
+        long oldTeamId = teamId(persister, oldState);
+        long newTeamId = teamId(persister, event.getState());
+        int oldAge = age(persister, oldState);
+        int newAge = age(persister, event.getState());
+        if (oldTeamId == newTeamId && oldAge == newAge) {
+            return;
+        }
+        TeamStatsDelta delta = delta(event.getSession());
+        delta.remove(oldTeamId, oldAge);
+        delta.add(newTeamId, newAge);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            EntityPersister persister = event.getPersister();
+            Object[] state = event.getDeletedState();
+            delta(event.getSession()).remove(teamId(persister, state), age(persister, state));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /* 세션마다 처음 변경이 생길 때 커밋 직전 반영/종료 시 정리 작업을 한 번만 등록 */
+    private TeamStatsDelta delta(EventSource session) {
+        return pending.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::apply);
+            session.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, completed) -> pending.remove(session));
+            return new TeamStatsDelta();
+        });
+    }
+
+    private void apply(SessionImplementor session) {
+        TeamStatsDelta delta = pending.remove(session);
+        if (delta != null && !delta.changes().isEmpty()) {
+            session.doWork(connection -> apply(connection, delta));
+        }
+    }
+
+    private static void apply(Connection connection, TeamStatsDelta delta) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            for (Map.Entry<Long, TeamStatsDelta.Change> entry : delta.changes().entrySet()) {
+                if (update(update, entry.getKey(), entry.getValue()) == 0) {
+                    insert(connection, update, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        for (Map.Entry<Long, TeamStatsDelta.Change> entry : delta.changes().entrySet()) {
+            if (entry.getValue().removedMin != null) {
+                refreshMinMax(connection, entry.getKey());
+            }
+        }
+    }
+
+    /* stale로 표시된 경우에만 갱신 ((team_id, age, username) 인덱스로 min/max 조회) */
+    private static void refreshMinMax(Connection connection, long teamId) throws SQLException {
+        if (teamId == TeamStats.NO_TEAM) {
+            try (PreparedStatement refresh = connection.prepareStatement(REFRESH_NO_TEAM_MIN_MAX_SQL)) {
+                refresh.setLong(1, teamId);
+                refresh.executeUpdate();
+            }
+            return;
+        }
+        try (PreparedStatement refresh = connection.prepareStatement(REFRESH_MIN_MAX_SQL)) {
+            refresh.setLong(1, teamId);
+            refresh.setLong(2, teamId);
+            refresh.setLong(3, teamId);
+            refresh.executeUpdate();
+        }
+    }
+
+    private static int update(PreparedStatement update, long teamId, TeamStatsDelta.Change change) throws SQLException {
+        update.setLong(1, change.count);
+        update.setLong(2, change.ageSum);
+        setInteger(update, 3, change.addedMin);
+        setInteger(update, 4, change.addedMin);
+        setInteger(update, 5, change.addedMax);
+        setInteger(update, 6, change.addedMax);
+        setInteger(update, 7, change.removedMin);
+        setInteger(update, 8, change.removedMax);
+        update.setLong(9, teamId);
+        return update.executeUpdate();
+    }
+
+    /* 아직 집계 행이 없는 팀 (동시에 다른 트랜잭션이 먼저 만들었으면 update로 재시도) */
+    private static void insert(Connection connection, PreparedStatement update,
+                               long teamId, TeamStatsDelta.Change change) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setLong(1, teamId);
+            insert.setLong(2, change.count);
+            insert.setLong(3, change.ageSum);
+            setInteger(insert, 4, change.addedMin);
+            setInteger(insert, 5, change.addedMax);
+            insert.setBoolean(6, change.removedMin != null || change.count < 0);
+            insert.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            update(update, teamId, change);
+        }
+    }
+
+    private static void setInteger(PreparedStatement statement, int index, Integer value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.INTEGER);
+        } else {
+            statement.setInt(index, value);
+        }
+    }
+
+    private static long teamId(EntityPersister persister, Object[] state) {
+        Team team = (Team) state[persister.getPropertyIndex("team")];
+        return team == null ? TeamStats.NO_TEAM : team.getId();
+    }
+
+    private static int age(EntityPersister persister, Object[] state) {
+        return (Integer) state[persister.getPropertyIndex("age")];
+    }
+}
@@ -0,0 +1,113 @@
+package study.querydsl.streaming;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.query.ProjectionRows;
+
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/* 대용량 스트리밍 조회
+ * fetch()는 결과 전체를 List로 만들기 때문에 전체 회원 export 같은 작업에서 힙이 터진다.
+ * 1) 전진 전용(FORWARD_ONLY) 스크롤 + JDBC fetch size로 DB에서 조금씩 가져온다.
+ * 2) read-only로 조회해서 dirty checking용 스냅샷을 만들지 않는다.
+ * 3) 소비자가 한 행을 처리하고 나면 해당 엔티티를 영속성 컨텍스트에서 detach 한다.
+ *
+ * 반드시 트랜잭션 안에서, try-with-resources로 닫아야 한다. (스트림이 커서/커넥션을 잡고 있음)
+ * try (Stream<Member> members = queryStreamer.stream(queryFactory.selectFrom(member))) { ... }
+ *
+ * 주의 : fetch join으로 함께 로딩한 연관 엔티티는 detach 되지 않으므로 스트리밍에서는 projection을 권장
+ */
+@Component
+public class QueryStreamer {
+
+    private final EntityManager em;
+    private final int fetchSize;
+    private volatile Set<Class<?>> entityTypes;
+
+    public QueryStreamer(EntityManager em, @Value("${querydsl.stream.fetch-size:1000}") int fetchSize) {
+        this.em = em;
+        this.fetchSize = fetchSize;
+    }
+
+    public <T> Stream<T> stream(JPAQuery<T> query) {
+        return stream(query, fetchSize);
+    }
+
+    public <T> Stream<T> stream(JPAQuery<T> query, int fetchSize) {
+        Expression<?> projection = query.getMetadata().getProjection();
+        org.hibernate.query.Query<?> hibernateQuery = query.createQuery().unwrap(org.hibernate.query.Query.class);
+        hibernateQuery.setFetchSize(fetchSize);
+        hibernateQuery.setReadOnly(true);
+        ScrollableResults<?> results = hibernateQuery.scroll(ScrollMode.FORWARD_ONLY);
+
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!results.next()) {
+                    return false;
+                }
+                T row = ProjectionRows.convert(projection, results.get());
+                action.accept(row);
+                detach(row);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(results::close);
+    }
+
+    /* 콜백 방식, 처리한 행 수를 반환 */
+    public <T> long forEach(JPAQuery<T> query, Consumer<? super T> consumer) {
+        AtomicLong count = new AtomicLong();
+        try (Stream<T> stream = stream(query)) {
+            stream.forEach(row -> {
+                consumer.accept(row);
+                count.incrementAndGet();
+            });
+        }
+        return count.get();
+    }
+
+    private void detach(Object row) {
+        if (row instanceof Tuple tuple) {
+            for (Object value : tuple.toArray()) {
+                detachEntity(value);
+            }
+        } else if (row instanceof Object[] values) {
+            for (Object value : values) {
+                detachEntity(value);
+            }
+        } else {
+            detachEntity(row);
+        }
+    }
+
+    private void detachEntity(Object value) {
+        if (value instanceof HibernateProxy || (value != null && entityTypes().contains(value.getClass()))) {
+            em.detach(value);
+        }
+    }
+
+    private Set<Class<?>> entityTypes() {
+        if (entityTypes == null) {
+            entityTypes = em.getMetamodel().getEntities().stream()
+                    .<Class<?>>map(EntityType::getJavaType)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+        return entityTypes;
+    }
+}
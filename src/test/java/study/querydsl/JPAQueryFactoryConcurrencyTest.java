@@ -0,0 +1,72 @@
+package study.querydsl;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* 싱글톤 JPAQueryFactory를 여러 스레드에서 동시에 사용
+ * 스레드마다 자기 트랜잭션에서 저장한 회원만 보여야 하고, 다른 스레드의 영속성 컨텍스트와 섞이면 안 된다.
+ */
+@SpringBootTest
+class JPAQueryFactoryConcurrencyTest {
+
+    private static final int THREADS = 300;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Test
+    public void sharedFactoryIsThreadSafe() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String username = "concurrent" + i;
+            results.add(executor.submit(() -> {
+                start.await();
+                return transactionTemplate.execute(status -> {
+                    Member saved = new Member(username, 20);
+                    em.persist(saved);
+
+                    Member found = queryFactory
+                            .selectFrom(member)
+                            .where(member.username.eq(username))
+                            .fetchOne();
+                    Long visible = queryFactory
+                            .select(member.count())
+                            .from(member)
+                            .where(member.username.startsWith("concurrent"))
+                            .fetchOne();
+
+                    status.setRollbackOnly();
+                    //같은 영속성 컨텍스트의 같은 인스턴스, 다른 스레드의 커밋 안 된 데이터는 안 보임
+                    return found == saved && visible == 1L;
+                });
+            }));
+        }
+        start.countDown();
+
+        for (Future<Boolean> result : results) {
+            assertThat(result.get(60, TimeUnit.SECONDS)).isTrue();
+        }
+        executor.shutdown();
+    }
+}
@@ -2,15 +2,20 @@ package study.querydsl;
 
 import com.querydsl.core.QueryResults;
 import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.CaseBuilder;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QMember;
 import study.querydsl.entity.QTeam;
@@ -355,4 +360,75 @@ public class QuerydslBasicTest {
                 .fetch();
     }
 
+    /* 프로젝션과 결과 반환 - DTO 조회
+     * 엔티티 전체를 조회하지 않고 필요한 값만 DTO로 바로 조회
+     * 1) Projections.bean : setter로 값 주입 (기본 생성자 필요)
+     * 2) Projections.fields : 필드에 직접 주입 (getter, setter 필요 없음)
+     * 3) Projections.constructor : 생성자 파라미터 순서/타입으로 주입
+     * 4) @QueryProjection : Q타입 DTO 생성자, 컴파일 시점에 타입 체크
+     * */
+    @Test
+    public void findDtoBySetter() {
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        List<MemberDto> result = queryFactory
+                .select(Projections.bean(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .orderBy(member.id.asc())
+                .fetch();
+
+        assertThat(result).extracting("username")
+                .containsExactly("member1", "member2", "member3", "member4");
+    }
+
+    @Test
+    public void findDtoByField() {
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        List<MemberDto> result = queryFactory
+                .select(Projections.fields(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .orderBy(member.id.asc())
+                .fetch();
+
+        assertThat(result).extracting("age").containsExactly(10, 20, 30, 40);
+    }
+
+    @Test
+    public void findDtoByConstructor() {
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        List<MemberDto> result = queryFactory
+                .select(Projections.constructor(MemberDto.class,
+                        member.username,
+                        member.age))
+                .from(member)
+                .orderBy(member.id.asc())
+                .fetch();
+
+        assertThat(result).extracting("username")
+                .containsExactly("member1", "member2", "member3", "member4");
+    }
+
+    @Test
+    public void findDtoByQueryProjection() {
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        List<MemberTeamDto> result = queryFactory
+                .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("teamB"))
+                .orderBy(member.id.asc())
+                .fetch();
+
+        assertThat(result).extracting("username").containsExactly("member3", "member4");
+        //DTO 조회는 영속성 컨텍스트에 엔티티를 올리지 않는다.
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(6);
+    }
+
 }
@@ -0,0 +1,55 @@
+package study.querydsl.bulk;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/* 100만 회원 / 1만 팀 적재 속도 (rows/sec)
+ * before : JDBC 배치 끔 (batch size 1, insert 한 건마다 왕복)
+ * after  : hibernate.jdbc.batch_size + order_inserts
+ * ./gradlew benchmark --tests '*BulkIngestionBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class BulkIngestionBenchmarkTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    BulkIngestionService bulkIngestionService;
+
+    @Test
+    public void importOneMillionMembers() {
+        int members = MemberFixtures.intProperty("bench.rows", 1_000_000);
+        int teams = MemberFixtures.intProperty("bench.teams", 10_000);
+        Session session = em.unwrap(Session.class);
+
+        session.setJdbcBatchSize(1);
+        report("before (no batching)", members, () -> bulkIngestionService.importMembers(rows(members, teams, "a")));
+
+        session.setJdbcBatchSize(null);
+        report("after (jdbc batching)", members, () -> bulkIngestionService.importMembers(rows(members, teams, "b")));
+    }
+
+    private static Stream<MemberImportRow> rows(int members, int teams, String prefix) {
+        return IntStream.range(0, members)
+                .mapToObj(i -> new MemberImportRow(prefix + "member" + i, i % 100, prefix + "team" + (i % teams)));
+    }
+
+    private static void report(String name, int rows, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %,d rows in %.1fs = %,.0f rows/sec%n", name, rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,62 @@
+package study.querydsl.bulk;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class BulkIngestionServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    BulkIngestionService bulkIngestionService;
+
+    @Test
+    public void importMembersAcrossChunks() {
+        long imported = bulkIngestionService.importMembers(IntStream.range(0, 2_500)
+                .mapToObj(i -> new MemberImportRow("member" + i, i % 50, "team" + (i % 10))));
+
+        //flush/clear 이후에는 영속성 컨텍스트가 비어 있어야 한다.
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        assertThat(imported).isEqualTo(2_500);
+        assertThat(queryFactory.select(member.count()).from(member).fetchOne()).isEqualTo(2_500L);
+        assertThat(queryFactory.select(team.count()).from(team).fetchOne()).isEqualTo(10L);
+        assertThat(queryFactory.select(member.count())
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("team3"))
+                .fetchOne()).isEqualTo(250L);
+    }
+
+    /* 이미 있는 팀은 다시 만들지 않고 연결한다. */
+    @Test
+    public void reusesExistingTeamsByName() {
+        bulkIngestionService.importMembers(IntStream.range(0, 20)
+                .mapToObj(i -> new MemberImportRow("member" + i, i, "team" + (i % 4))));
+        bulkIngestionService.importMembers(IntStream.range(0, 20)
+                .mapToObj(i -> new MemberImportRow("again" + i, i, "team" + (i % 5))));
+
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        assertThat(queryFactory.select(team.count()).from(team).fetchOne()).isEqualTo(5L);
+        assertThat(queryFactory.select(member.count())
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("team0"))
+                .fetchOne()).isEqualTo(9L);
+    }
+}
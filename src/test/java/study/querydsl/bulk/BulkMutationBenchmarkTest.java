@@ -0,0 +1,53 @@
+package study.querydsl.bulk;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.function.LongSupplier;
+
+import static study.querydsl.entity.QMember.member;
+
+/* 100만 건 나이 +1 : 단일 벌크 update vs id 범위 청크 update
+ * ./gradlew benchmark --tests '*BulkMutationBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+class BulkMutationBenchmarkTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberBulkMutationService bulkMutationService;
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+    }
+
+    @Test
+    public void updateOneMillionRows() {
+        int rows = MemberFixtures.intProperty("bench.rows", 1_000_000);
+        transactionTemplate.executeWithoutResult(status -> MemberFixtures.insertMembers(jdbcTemplate, rows, 0));
+
+        report("single bulk update", () -> bulkMutationService.update(member.id.goe(MemberFixtures.BASE_ID),
+                update -> update.set(member.age, member.age.add(1))));
+        report("chunked bulk update", () -> bulkMutationService.addAge(member.id.goe(MemberFixtures.BASE_ID), 1));
+    }
+
+    private static void report(String name, LongSupplier task) {
+        long start = System.nanoTime();
+        long updated = task.getAsLong();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-22s %,d rows in %.2fs = %,.0f rows/sec%n", name, updated, seconds, updated / seconds);
+    }
+}
@@ -0,0 +1,157 @@
+package study.querydsl.bulk;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.cache.QueryResultCache;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.TeamStatsRepository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+/* 청크 단위 벌크 연산은 청크마다 커밋하므로 테스트 트랜잭션(롤백)을 사용하지 않는다. */
+@SpringBootTest(properties = "querydsl.bulk.mutation-chunk-size=3")
+class MemberBulkMutationServiceTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MemberBulkMutationService bulkMutationService;
+
+    @Autowired
+    QueryResultCache queryResultCache;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    JPAQueryFactory queryFactory;
+    Team teamA;
+    Team teamB;
+
+    /* member1~4 : teamA, member5~8 : teamB, member9~10 : 팀 없음 */
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        transactionTemplate.executeWithoutResult(status -> {
+            teamA = new Team("teamA");
+            teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            for (int i = 1; i <= 10; i++) {
+                em.persist(new Member("member" + i, i * 10, i <= 4 ? teamA : i <= 8 ? teamB : null));
+            }
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).execute();
+            queryFactory.delete(team).execute();
+            queryFactory.delete(teamStats).execute();
+        });
+    }
+
+    @Test
+    public void addAgeInChunks() {
+        long updated = bulkMutationService.addAge(member.age.goe(50), 1);
+
+        assertThat(updated).isEqualTo(6);
+        assertThat(queryFactory.select(member.age).from(member).orderBy(member.age.asc()).fetch())
+                .containsExactly(10, 20, 30, 40, 51, 61, 71, 81, 91, 101);
+    }
+
+    @Test
+    public void deleteInChunks() {
+        long deleted = bulkMutationService.deleteInChunks(member.age.lt(40));
+
+        assertThat(deleted).isEqualTo(3);
+        assertThat(queryFactory.select(member.count()).from(member).fetchOne()).isEqualTo(7L);
+    }
+
+    /* 두 번째 청크에서 실패해도 첫 청크는 커밋됐으므로 캐시된 조회 결과가 무효화되어야 한다. */
+    @Test
+    public void failedChunkStillInvalidatesCommittedChunks() {
+        assertThat(queryResultCache.fetchOne(queryFactory.select(member.age.sum()).from(member))).isEqualTo(550);
+
+        AtomicInteger chunks = new AtomicInteger();
+        assertThatThrownBy(() -> bulkMutationService.updateInChunks(member.age.goe(10), update -> {
+            if (chunks.incrementAndGet() == 2) {
+                throw new IllegalStateException("chunk failed");
+            }
+            return update.set(member.age, member.age.add(1));
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(queryResultCache.fetchOne(queryFactory.select(member.age.sum()).from(member))).isEqualTo(553);
+    }
+
+    /* 벌크 연산 후 영속성 컨텍스트를 비우므로 다시 조회하면 DB 값이 보인다. */
+    @Test
+    public void updateClearsPersistenceContext() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member1 = queryFactory.selectFrom(member).where(member.username.eq("member1")).fetchOne();
+
+            long updated = bulkMutationService.update(member.username.eq("member1"),
+                    update -> update.set(member.username, "renamed"));
+
+            assertThat(updated).isEqualTo(1);
+            assertThat(em.contains(member1)).isFalse();
+            assertThat(em.find(Member.class, member1.getId()).getUsername()).isEqualTo("renamed");
+        });
+    }
+
+    /* 커밋 전에 다른 스레드가 옛 값으로 캐시를 채워도 커밋 후에는 새 값이 보인다. */
+    @Test
+    public void updateInTransactionInvalidatesAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            bulkMutationService.update(member.username.eq("member1"), update -> update.set(member.age, 99));
+
+            assertThat(CompletableFuture.supplyAsync(this::cachedAgeOfMember1).join()).isEqualTo(10);
+        });
+
+        assertThat(cachedAgeOfMember1()).isEqualTo(99);
+    }
+
+    private Integer cachedAgeOfMember1() {
+        return queryResultCache.fetchOne(queryFactory.select(member.age).from(member).where(member.username.eq("member1")));
+    }
+
+    /* 벌크 연산은 엔티티 이벤트가 없으므로 바뀐 팀을 재계산해서 team_stats를 맞춘다. */
+    @Test
+    public void bulkChangesKeepTeamStats() {
+        bulkMutationService.addAge(member.age.goe(30), 1);
+        bulkMutationService.deleteInChunks(member.age.goe(90));
+        bulkMutationService.updateInChunks(member.username.eq("member2"),
+                update -> update.set(member.team, teamB));
+        bulkMutationService.update(member.username.eq("member5"),
+                update -> update.set(member.team, teamA));
+
+        assertThat(teamStatsRepository.teamAgeStats())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(transactionTemplate.execute(status ->
+                        memberQueryRepository.teamAgeStats(new MemberSearchCondition())));
+        assertThat(teamStatsRepository.totalStats().getCount()).isEqualTo(8L);
+        assertThat(teamStatsRepository.totalStats().getAgeMax()).isEqualTo(81);
+    }
+}
@@ -0,0 +1,64 @@
+package study.querydsl.cache;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 팀별 집계 쿼리 반복 실행 : DB 직접 vs 조회 결과 캐시
+ * ./gradlew benchmark --tests '*QueryResultCacheBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class QueryResultCacheBenchmarkTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    QueryResultCache queryResultCache;
+
+    @Test
+    public void hotAggregation() {
+        MemberFixtures.insertTeams(jdbcTemplate, 100);
+        MemberFixtures.insertMembers(jdbcTemplate, 200_000, 100);
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        Supplier<JPAQuery<Tuple>> aggregation = () -> queryFactory
+                .select(team.name, member.count(), member.age.avg(), member.age.max(), member.age.min())
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("team7"))
+                .groupBy(team.name);
+
+        LatencyRecorder direct = new LatencyRecorder("direct");
+        LatencyRecorder cached = new LatencyRecorder("query result cache");
+        for (int i = 0; i < ITERATIONS; i++) {
+            direct.time(() -> aggregation.get().fetch());
+            cached.time(() -> queryResultCache.fetch(aggregation.get()));
+        }
+
+        System.out.println(direct.summary());
+        System.out.println(cached.summary());
+        queryResultCache.stats().forEach(System.out::println);
+        queryResultCache.invalidateAll();
+    }
+}
@@ -0,0 +1,162 @@
+package study.querydsl.cache;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 쓰기를 한 트랜잭션은 캐시를 거치지 않으므로 테스트 데이터를 커밋하고 끝나면 지운다. */
+@SpringBootTest
+class QueryResultCacheTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    QueryResultCache queryResultCache;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> {
+            queryFactory.delete(member).execute();
+            queryFactory.delete(team).execute();
+        });
+        queryResultCache.invalidateAll();
+    }
+
+    private JPAQuery<MemberDto> membersOfTeam(String teamName) {
+        return queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq(teamName))
+                .orderBy(member.username.asc());
+    }
+
+    /* 통계는 JPQL 단위로 누적되므로 테스트에서는 증가분만 비교 */
+    @Test
+    public void sameQueryAndParametersHitCache() {
+        QueryCacheStats stats = queryResultCache.statsFor(membersOfTeam("teamA"));
+        long hits = stats.getHits();
+        long misses = stats.getMisses();
+
+        List<MemberDto> first = queryResultCache.fetch(membersOfTeam("teamA"));
+        List<MemberDto> second = queryResultCache.fetch(membersOfTeam("teamA"));
+        List<MemberDto> otherTeam = queryResultCache.fetch(membersOfTeam("teamB"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(first).extracting("username").containsExactly("member1", "member2");
+        assertThat(otherTeam).extracting("username").containsExactly("member3");
+
+        assertThat(stats.getHits() - hits).isEqualTo(1);
+        assertThat(stats.getMisses() - misses).isEqualTo(2);
+        assertThat(stats.getEstimatedBytes()).isPositive();
+    }
+
+    @Test
+    public void memberWriteInvalidatesAggregation() {
+        JPAQuery<Tuple> aggregation = queryFactory
+                .select(member.count(), member.age.max())
+                .from(member);
+        Tuple before = queryResultCache.fetchOne(aggregation);
+        assertThat(before.get(member.count())).isEqualTo(3L);
+
+        transactionTemplate.executeWithoutResult(status -> em.persist(new Member("member4", 40)));
+
+        Tuple after = queryResultCache.fetchOne(queryFactory
+                .select(member.count(), member.age.max())
+                .from(member));
+        assertThat(after.get(member.count())).isEqualTo(4L);
+    }
+
+    @Test
+    public void teamUpdateInvalidatesJoinedQuery() {
+        QueryCacheStats stats = queryResultCache.statsFor(membersOfTeam("teamB"));
+        assertThat(queryResultCache.fetch(membersOfTeam("teamB"))).hasSize(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamB = queryFactory.selectFrom(team).where(team.name.eq("teamB")).fetchOne();
+            teamB.setName("teamC");
+            em.flush();
+            teamB.setName("teamB");
+        });
+
+        long hits = stats.getHits();
+        assertThat(queryResultCache.fetch(membersOfTeam("teamB"))).hasSize(1);
+        assertThat(stats.getHits()).isEqualTo(hits);
+    }
+
+    /* 아직 flush 안 한 자기 변경도 보여야 하므로 캐시 적중을 쓰지 않는다. */
+    @Test
+    public void pendingWritesBypassCache() {
+        assertThat(queryResultCache.fetch(membersOfTeam("teamA"))).hasSize(2);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Team teamA = queryFactory.selectFrom(team).where(team.name.eq("teamA")).fetchOne();
+            em.persist(new Member("member4", 40, teamA));
+
+            QueryCacheStats stats = queryResultCache.statsFor(membersOfTeam("teamA"));
+            long bypasses = stats.getBypasses();
+            assertThat(queryResultCache.fetch(membersOfTeam("teamA"))).hasSize(3);
+            assertThat(stats.getBypasses() - bypasses).isEqualTo(1);
+        });
+    }
+
+    /* 롤백될 변경이 캐시에 남아서 다른 트랜잭션에 보이면 안 된다. */
+    @Test
+    public void uncommittedWritesAreNotCached() {
+        transactionTemplate.executeWithoutResult(status -> {
+            em.persist(new Member("member4", 40));
+            em.flush();
+            assertThat(queryResultCache.fetchOne(queryFactory.select(member.count()).from(member))).isEqualTo(4L);
+
+            //커밋 전 : 다른 스레드(트랜잭션)는 캐시가 아니라 DB의 커밋된 값을 봐야 한다.
+            Long otherThread = CompletableFuture.supplyAsync(() ->
+                    queryResultCache.fetchOne(queryFactory.select(member.count()).from(member))).join();
+            assertThat(otherThread).isEqualTo(3L);
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    public void entityProjectionIsRejected() {
+        assertThatThrownBy(() -> queryResultCache.fetch(queryFactory.selectFrom(member)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
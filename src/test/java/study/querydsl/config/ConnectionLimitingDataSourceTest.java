@@ -0,0 +1,45 @@
+package study.querydsl.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConnectionLimitingDataSourceTest {
+
+    private final ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(
+            new DriverManagerDataSource("jdbc:h2:mem:connection-limit;DB_CLOSE_DELAY=-1", "sa", ""),
+            2, Duration.ofMillis(100));
+
+    @Test
+    public void waitsForPermitAndTimesOut() throws Exception {
+        try (Connection first = dataSource.getConnection();
+             Connection second = dataSource.getConnection()) {
+            assertThat(dataSource.getAvailablePermits()).isZero();
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    public void closingTwiceReleasesOnce() throws Exception {
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    public void exposesTargetConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection).isInstanceOf(ConnectionProxy.class);
+            assertThat(((ConnectionProxy) connection).getTargetConnection()).isNotSameAs(connection);
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 가상 스레드(Java 21) 없이도 후처리기만 직접 호출해서 확인 */
+class VirtualThreadConfigTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BeanPostProcessor postProcessor = VirtualThreadConfig.connectionLimitingPostProcessor(
+            Duration.ofMillis(100),
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    public void permitsFollowEachPoolSize() {
+        ConnectionLimitingDataSource primary = (ConnectionLimitingDataSource)
+                postProcessor.postProcessAfterInitialization(pool("primary", 10), "primaryDataSource");
+        ConnectionLimitingDataSource replica = (ConnectionLimitingDataSource)
+                postProcessor.postProcessAfterInitialization(pool("replica", 3), "replicaDataSource");
+
+        assertThat(primary.getAvailablePermits()).isEqualTo(10);
+        assertThat(replica.getAvailablePermits()).isEqualTo(3);
+        assertThat(meterRegistry.get("querydsl.jdbc.permits.available").tag("pool", "replica").gauge().value())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void unsetPoolSizeUsesHikariDefault() {
+        ConnectionLimitingDataSource limited = (ConnectionLimitingDataSource)
+                postProcessor.postProcessAfterInitialization(new HikariDataSource(), "dataSource");
+
+        assertThat(limited.getAvailablePermits()).isEqualTo(10);
+    }
+
+    /* 라우팅/지연 프록시 같은 바깥 DataSource는 감싸지 않는다. */
+    @Test
+    public void leavesNonPoolDataSourcesAlone() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:not-a-pool");
+
+        assertThat(postProcessor.postProcessAfterInitialization(dataSource, "routingDataSource")).isSameAs(dataSource);
+    }
+
+    private static HikariDataSource pool(String name, int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
@@ -0,0 +1,103 @@
+package study.querydsl.controller;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/* 스트리밍 응답은 별도 스레드/트랜잭션에서 조회하므로 테스트 데이터를 커밋하고 끝나면 지운다. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MemberControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member");
+            jdbcTemplate.update("delete from team");
+        });
+    }
+
+    @Test
+    public void search() throws Exception {
+        mockMvc.perform(get("/v1/members").param("teamName", "teamB").param("ageGoe", "35"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].username", contains("member4")));
+    }
+
+    @Test
+    public void searchPage() throws Exception {
+        mockMvc.perform(get("/v2/members").param("page", "1").param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].username", contains("member4")))
+                .andExpect(jsonPath("$.totalElements").value(4));
+    }
+
+    @Test
+    public void teamAgeStats() throws Exception {
+        mockMvc.perform(get("/v1/members/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].teamName", contains("teamA", "teamB")))
+                .andExpect(jsonPath("$[0].teamId").isNumber())
+                .andExpect(jsonPath("$[0].count").value(2))
+                .andExpect(jsonPath("$[0].ageSum").value(30))
+                .andExpect(jsonPath("$[1].ageAvg").value(35.0))
+                .andExpect(jsonPath("$[1].ageMax").value(40));
+    }
+
+    @Test
+    public void streamAsNdjson() throws Exception {
+        MvcResult started = mockMvc.perform(get("/v1/members/stream").param("ageGoe", "20"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult();
+
+        String body = started.getResponse().getContentAsString();
+        assertThat(started.getResponse().getContentType()).startsWith("application/x-ndjson");
+        assertThat(body.strip().split("\n"))
+                .hasSize(3)
+                .allSatisfy(line -> assertThat(line).startsWith("{").contains("\"memberId\":"))
+                .satisfies(lines -> assertThat(lines[0]).contains("\"username\":\"member2\""));
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 회원 조회 API에 동시 요청 5,000개 (기본값)
+ * 플랫폼 스레드 / 가상 스레드 설정별 하위 클래스에서 실행한다.
+ * 처리량, p50/p99, 실패 수, 최대 JVM 스레드 수를 출력한다.
+ */
+abstract class MemberEndpointLoadBenchmark {
+
+    private static final int TEAMS = 100;
+    private static final int MEMBERS = 100_000;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+            MemberFixtures.insertMembers(jdbcTemplate, MEMBERS, TEAMS);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    abstract String mode();
+
+    @Test
+    public void concurrentSearches() {
+        int concurrency = MemberFixtures.intProperty("bench.concurrency", 5_000);
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        request(client, 0).join();
+
+        long[] latencies = new long[concurrency];
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>(concurrency);
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            int index = i;
+            long sent = System.nanoTime();
+            responses.add(request(client, i).whenComplete((response, e) -> latencies[index] = System.nanoTime() - sent));
+        }
+
+        int failures = 0;
+        for (CompletableFuture<HttpResponse<String>> response : responses) {
+            try {
+                if (response.join().statusCode() != 200) {
+                    failures++;
+                }
+            } catch (RuntimeException e) {
+                failures++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        LatencyRecorder recorder = new LatencyRecorder(mode() + " x" + concurrency);
+        for (long latency : latencies) {
+            recorder.record(latency);
+        }
+        System.out.println(recorder.summary());
+        System.out.printf("%-32s %.0f req/s, failures=%d, peak threads=%d%n", mode(),
+                concurrency / (elapsed / 1e9), failures, ManagementFactory.getThreadMXBean().getPeakThreadCount());
+        assertThat(failures).isZero();
+    }
+
+    /* 팀 하나(회원 1,000명) 중 나이 범위 조회 */
+    private CompletableFuture<HttpResponse<String>> request(HttpClient client, int i) {
+        long teamId = MemberFixtures.BASE_ID + i % TEAMS;
+        URI uri = URI.create("http://localhost:" + port + "/v1/members?teamId=" + teamId + "&ageGoe=10&ageLoe=20");
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+
+/* 결과 크기별 첫 바이트까지의 시간(TTFB)과 힙 최고 사용량 : List 응답 vs NDJSON 스트리밍
+ * 스트리밍은 결과가 10배씩 커져도 TTFB와 힙 사용량이 거의 그대로여야 한다.
+ * 서버와 클라이언트가 같은 JVM이라 힙은 old 영역 최고치(GC 후 살아남은 양)를 본다.
+ * ./gradlew benchmark --tests '*MemberStreamingBenchmarkTest' -Dbench.sizes=10000,100000,1000000
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:member-streaming;LAZY_QUERY_EXECUTION=1")
+class MemberStreamingBenchmarkTest {
+
+    private static final int TEAMS = 100;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    final HttpClient client = HttpClient.newHttpClient();
+
+    @AfterEach
+    public void after() {
+        deleteFixtures();
+    }
+
+    @Test
+    public void ttfbAndHeapBySize() throws Exception {
+        int[] sizes = Arrays.stream(System.getProperty("bench.sizes", "10000,100000,1000000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        for (int size : sizes) {
+            deleteFixtures();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+                MemberFixtures.insertMembers(jdbcTemplate, size, TEAMS);
+            });
+            measure("list   /v1/members", "/v1/members", size);
+            measure("stream /v1/members/stream", "/v1/members/stream", size);
+        }
+    }
+
+    private void measure(String name, String path, int size) throws Exception {
+        List<MemoryPoolMXBean> pools = oldGenerationPools();
+        System.gc();
+        long baseline = pools.stream().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+        pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build();
+        long start = System.nanoTime();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        long bytes;
+        long firstByte;
+        try (InputStream body = response.body()) {
+            body.read();
+            firstByte = System.nanoTime() - start;
+            bytes = 1 + body.transferTo(OutputStream.nullOutputStream());
+        }
+        long total = System.nanoTime() - start;
+        long peak = pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum() - baseline;
+
+        System.out.printf("%-28s rows=%,10d ttfb=%8.1fms total=%8.1fms body=%,d KB old-gen peak=+%,d KB%n",
+                name, size, firstByte / 1e6, total / 1e6, bytes / 1024, Math.max(peak, 0) / 1024);
+    }
+
+    private void deleteFixtures() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    private static List<MemoryPoolMXBean> oldGenerationPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"))
+                .toList();
+    }
+}
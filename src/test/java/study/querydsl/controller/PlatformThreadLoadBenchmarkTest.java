@@ -0,0 +1,16 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/* ./gradlew benchmark --tests '*ThreadLoadBenchmarkTest' -Dbench.concurrency=5000 */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadBenchmarkTest extends MemberEndpointLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform threads";
+    }
+}
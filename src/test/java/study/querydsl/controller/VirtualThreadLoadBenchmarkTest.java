@@ -0,0 +1,19 @@
+package study.querydsl.controller;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/* Java 21 이상에서만 실행 (그 아래에서는 스프링 부트가 가상 스레드 설정을 무시함) */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadLoadBenchmarkTest extends MemberEndpointLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -0,0 +1,152 @@
+package study.querydsl.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/* 회원 스냅샷 파일 형식 비교 : JSON(줄 단위) vs CSV vs 컬럼형 바이너리
+ * 같은 행(메모리에서 생성)을 1000행 단위로 쓰고 다시 DTO로 읽는다. 파일 크기, 쓰기/읽기 시간 출력
+ * ./gradlew benchmark --tests '*ColumnarExportBenchmarkTest' -Dbench.rows=1000000
+ */
+@Tag("benchmark")
+class ColumnarExportBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+    private static final int CHUNK = 1_000;
+    private static final int ITERATIONS = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void jsonVsCsvVsColumnar() throws IOException {
+        List<List<MemberTeamDto>> chunks = rows(MemberFixtures.intProperty("bench.rows", 1_000_000));
+
+        measure("json", chunks, this::writeJson, this::readJson);
+        measure("csv", chunks, ColumnarExportBenchmarkTest::writeCsv, ColumnarExportBenchmarkTest::readCsv);
+        measure("columnar", chunks, ColumnarExportBenchmarkTest::writeColumnar, ColumnarExportBenchmarkTest::readColumnar);
+    }
+
+    private void measure(String format, List<List<MemberTeamDto>> chunks, FileWrite write, FileRead read) throws IOException {
+        Path file = dir.resolve("members." + format);
+        LatencyRecorder writes = new LatencyRecorder(format + " write");
+        LatencyRecorder reads = new LatencyRecorder(format + " read");
+        long rows = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            write.write(file, chunks);
+            writes.record(System.nanoTime() - start);
+
+            start = System.nanoTime();
+            rows = read.read(file);
+            reads.record(System.nanoTime() - start);
+        }
+        System.out.printf("%-8s rows=%d size=%,d bytes%n", format, rows, Files.size(file));
+        System.out.println(writes.summary());
+        System.out.println(reads.summary());
+    }
+
+    private void writeJson(Path file, List<List<MemberTeamDto>> chunks) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            for (List<MemberTeamDto> chunk : chunks) {
+                writer.writeAll(chunk);
+            }
+        }
+    }
+
+    private long readJson(Path file) throws IOException {
+        long rows = 0;
+        try (MappingIterator<JsonNode> nodes = objectMapper.readerFor(JsonNode.class).readValues(file.toFile())) {
+            while (nodes.hasNext()) {
+                JsonNode node = nodes.next();
+                JsonNode teamId = node.get("teamId");
+                JsonNode teamName = node.get("teamName");
+                new MemberTeamDto(node.get("memberId").asLong(), node.get("username").asText(), node.get("age").asInt(),
+                        teamId.isNull() ? null : teamId.asLong(), teamName.isNull() ? null : teamName.asText());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void writeCsv(Path file, List<List<MemberTeamDto>> chunks) throws IOException {
+        try (CsvMemberExportSink sink = new CsvMemberExportSink(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (List<MemberTeamDto> chunk : chunks) {
+                sink.write(chunk);
+            }
+        }
+    }
+
+    /* 벤치마크 데이터에는 따옴표로 감쌀 값이 없으므로 단순 분리 */
+    private static long readCsv(Path file) throws IOException {
+        long rows = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] columns = line.split(",", -1);
+                new MemberTeamDto(Long.parseLong(columns[0]), columns[1], Integer.parseInt(columns[2]),
+                        columns[3].isEmpty() ? null : Long.parseLong(columns[3]), columns[4].isEmpty() ? null : columns[4]);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static void writeColumnar(Path file, List<List<MemberTeamDto>> chunks) throws IOException {
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            for (List<MemberTeamDto> chunk : chunks) {
+                writer.write(chunk);
+            }
+        }
+    }
+
+    private static long readColumnar(Path file) throws IOException {
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            return reader.forEach(row -> { });
+        }
+    }
+
+    private static List<List<MemberTeamDto>> rows(int count) {
+        List<List<MemberTeamDto>> chunks = new ArrayList<>();
+        List<MemberTeamDto> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < count; i++) {
+            long teamId = MemberFixtures.BASE_ID + i % TEAMS;
+            chunk.add(new MemberTeamDto(MemberFixtures.BASE_ID + i, "member" + i, i % 100, teamId, "team" + teamId));
+            if (chunk.size() == CHUNK) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private interface FileWrite {
+        void write(Path file, List<List<MemberTeamDto>> chunks) throws IOException;
+    }
+
+    private interface FileRead {
+        long read(Path file) throws IOException;
+    }
+}
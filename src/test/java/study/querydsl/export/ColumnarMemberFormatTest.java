@@ -0,0 +1,132 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ColumnarMemberFormatTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void roundTrip() throws IOException {
+        List<MemberTeamDto> first = List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, "member2", 20, 1L, "teamA"),
+                new MemberTeamDto(3L, null, 0, null, null),
+                new MemberTeamDto(4L, "회원, \"4\"", -5, 2L, "팀B"));
+        //id 역순, 큰 값, 이전 블록에 나온 팀 재사용
+        List<MemberTeamDto> second = List.of(
+                new MemberTeamDto(Long.MAX_VALUE, "", Integer.MAX_VALUE, 2L, "팀B"),
+                new MemberTeamDto(5L, "member5", Integer.MIN_VALUE, Long.MIN_VALUE, ""),
+                new MemberTeamDto(6L, "member6", 30, 1L, "teamA"));
+        Path file = dir.resolve("members.bin");
+
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            writer.write(first);
+            writer.write(List.of());
+            writer.write(second);
+            assertThat(writer.getRows()).isEqualTo(7);
+        }
+
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            List<MemberTeamDto> block1 = reader.readBlock();
+            List<MemberTeamDto> block2 = reader.readBlock();
+            assertThat(block1).isEqualTo(first);
+            assertThat(block2).isEqualTo(second);
+            assertThat(reader.readBlock()).isNull();
+            //팀 이름은 사전 항목을 공유
+            assertThat(block2.get(0).getTeamName()).isSameAs(block1.get(3).getTeamName());
+        }
+    }
+
+    @Test
+    public void manyBlocksAreSmallerThanCsv() throws IOException {
+        List<MemberTeamDto> rows = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            boolean noTeam = i % 10 == 0;
+            rows.add(new MemberTeamDto(1_000_000_000L + i, "member" + i, 20 + i % 40,
+                    noTeam ? null : 1_000_000L + i % 100, noTeam ? null : "team" + i % 100));
+        }
+        Path file = dir.resolve("members.bin");
+        Path csv = dir.resolve("members.csv");
+
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            for (int from = 0; from < rows.size(); from += 1_000) {
+                writer.write(rows.subList(from, from + 1_000));
+            }
+        }
+        try (Writer out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8);
+             CsvMemberExportSink sink = new CsvMemberExportSink(out)) {
+            sink.write(rows);
+        }
+
+        List<MemberTeamDto> read = new ArrayList<>();
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            assertThat(reader.forEach(read::add)).isEqualTo(rows.size());
+        }
+        assertThat(read).isEqualTo(rows);
+        assertThat(Files.size(file)).isLessThan(Files.size(csv) / 2);
+    }
+
+    /* 팀 이름은 팀 id로만 복원되므로 복원할 수 없는 행은 조용히 버리지 않고 거부한다. */
+    @Test
+    public void rejectsTeamNamesThatCannotBeRestored() throws IOException {
+        Path file = dir.resolve("members.bin");
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            writer.write(List.of(new MemberTeamDto(1L, "member1", 10, 1L, "teamA")));
+
+            assertThatThrownBy(() -> writer.write(List.of(new MemberTeamDto(2L, "member2", 20, null, "teamA"))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.write(List.of(new MemberTeamDto(3L, "member3", 30, 1L, "teamB"))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> writer.write(List.of(
+                    new MemberTeamDto(4L, "member4", 40, 2L, "teamC"),
+                    new MemberTeamDto(5L, "member5", 50, 2L, "teamD"))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            //거부된 블록의 팀은 사전에 남지 않는다.
+            writer.write(List.of(new MemberTeamDto(6L, "member6", 60, 2L, "teamD")));
+        }
+
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            List<MemberTeamDto> rows = new ArrayList<>();
+            reader.forEach(rows::add);
+            assertThat(rows).containsExactly(
+                    new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                    new MemberTeamDto(6L, "member6", 60, 2L, "teamD"));
+        }
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(dir.resolve("members.csv"), "member_id,username,age,team_id,team_name\n");
+
+        assertThatThrownBy(() -> new ColumnarMemberReader(file)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void truncatedFile() throws IOException {
+        Path file = dir.resolve("members.bin");
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            writer.write(List.of(new MemberTeamDto(1L, "member1", 10, 1L, "teamA")));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            assertThatThrownBy(reader::readBlock).isInstanceOf(IOException.class);
+        }
+    }
+}
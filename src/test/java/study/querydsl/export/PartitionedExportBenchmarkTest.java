@@ -0,0 +1,118 @@
+package study.querydsl.export;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.repository.MemberIdRangeSplitter;
+import study.querydsl.streaming.QueryStreamer;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/* 전체 회원 export : 스레드 수(1 ~ 코어 수) x 순서 보장 여부 x sink(버림 / CSV 파일)
+ * 처리량(rows/s)과 1스레드 대비 배율을 출력한다.
+ * ./gradlew benchmark --tests '*PartitionedExportBenchmarkTest' -Dbench.rows=2000000
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+class PartitionedExportBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberIdRangeSplitter idRangeSplitter;
+
+    @Autowired
+    QueryStreamer queryStreamer;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final int rows = MemberFixtures.intProperty("bench.rows", 2_000_000);
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+            MemberFixtures.insertMembers(jdbcTemplate, rows, TEAMS);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    @Test
+    public void throughputByThreadCount() throws IOException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> threads = new ArrayList<>();
+        for (int t = 1; t < cores; t *= 2) {
+            threads.add(t);
+        }
+        threads.add(cores);
+        Path file = Files.createTempFile("member-export", ".csv");
+
+        try {
+            for (boolean csv : new boolean[]{false, true}) {
+                for (boolean ordered : new boolean[]{true, false}) {
+                    double baseline = 0;
+                    for (int threadCount : threads) {
+                        PartitionedMemberExporter exporter = new PartitionedMemberExporter(
+                                queryFactory, idRangeSplitter, queryStreamer, transactionManager,
+                                threadCount, 100_000, 1_000, 8);
+                        try {
+                            //첫 실행은 워밍업
+                            run(exporter, ordered, csv, file);
+                            long start = System.nanoTime();
+                            long exported = run(exporter, ordered, csv, file);
+                            double rowsPerSecond = exported / ((System.nanoTime() - start) / 1e9);
+                            if (threadCount == 1) {
+                                baseline = rowsPerSecond;
+                            }
+                            System.out.printf("sink=%s ordered=%s threads=%d rows=%d : %,.0f rows/s (x%.2f)%n",
+                                    csv ? "csv" : "discard", ordered, threadCount, exported,
+                                    rowsPerSecond, rowsPerSecond / baseline);
+                        } finally {
+                            exporter.destroy();
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long run(PartitionedMemberExporter exporter, boolean ordered, boolean csv, Path file) throws IOException {
+        if (!csv) {
+            return exporter.export(chunk -> { }, ordered);
+        }
+        BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        try (CsvMemberExportSink sink = new CsvMemberExportSink(writer)) {
+            return exporter.export(sink, ordered);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package study.querydsl.export;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberIdRangeSplitter;
+import study.querydsl.streaming.QueryStreamer;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 스캔은 별도 스레드/트랜잭션에서 실행되므로 테스트 데이터를 커밋하고 끝나면 지운다.
+ * 구간 크기를 작게 잡아서 구간이 여러 개 생기도록 한다.
+ */
+@SpringBootTest
+class PartitionedMemberExporterTest {
+
+    private static final int MEMBERS = 2_500;
+    //fixture id(BASE_ID~)와 멀리 떨어진 id
+    private static final long SPARSE_ID = MemberFixtures.BASE_ID - 100_000_000L;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberIdRangeSplitter idRangeSplitter;
+
+    @Autowired
+    QueryStreamer queryStreamer;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    PartitionedMemberExporter exporter;
+
+    @BeforeEach
+    public void before() {
+        exporter = new PartitionedMemberExporter(queryFactory, idRangeSplitter, queryStreamer, transactionManager,
+                3, 300, 50, 2);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, 10);
+            MemberFixtures.insertMembers(jdbcTemplate, MEMBERS, 10);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        exporter.destroy();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", SPARSE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    @Test
+    public void orderedExportKeepsIdOrder() throws IOException {
+        List<Long> ids = new ArrayList<>();
+
+        long rows = exporter.export(chunk -> chunk.forEach(row -> ids.add(row.getMemberId())), true);
+
+        assertThat(rows).isEqualTo(MEMBERS);
+        assertThat(ids).hasSize(MEMBERS).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void unorderedExportWritesEveryRowOnce() throws IOException {
+        List<Long> ids = new ArrayList<>();
+
+        long rows = exporter.export(chunk -> chunk.forEach(row -> ids.add(row.getMemberId())), false);
+
+        assertThat(rows).isEqualTo(MEMBERS);
+        assertThat(ids).hasSize(MEMBERS).doesNotHaveDuplicates()
+                .allSatisfy(id -> assertThat(id).isBetween(MemberFixtures.BASE_ID, MemberFixtures.BASE_ID + MEMBERS - 1));
+    }
+
+    /* sink가 실패하면 스캔 스레드가 큐에서 막혀 있더라도 모두 중단되어야 한다. */
+    @Test
+    @Timeout(30)
+    public void sinkFailureStopsScans() throws Exception {
+        AtomicInteger chunks = new AtomicInteger();
+        ExportSink<MemberTeamDto> failing = chunk -> {
+            if (chunks.incrementAndGet() == 3) {
+                throw new IOException("disk full");
+            }
+        };
+
+        assertThatThrownBy(() -> exporter.export(failing, false)).isInstanceOf(IOException.class);
+        assertThat(exporter.export(chunk -> { }, true)).isEqualTo(MEMBERS);
+    }
+
+    /* id 사이가 크게 비어 있어도 구간은 행 수 기준으로만 생긴다. (구간 경계는 MemberIdRangeSplitterTest) */
+    @Test
+    public void sparseIdsAreExported() throws IOException {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> jdbcTemplate.update(
+                "insert into member (member_id, username, age) values (?, ?, ?)", SPARSE_ID, "sparse", 1));
+
+        assertThat(exporter.export(chunk -> { }, false)).isEqualTo(MEMBERS + 1);
+        assertThat(exporter.export(chunk -> { }, true)).isEqualTo(MEMBERS + 1);
+    }
+
+    /* 스캔 스레드에서 Error가 나도 export는 기다리지 않고 실패해야 한다. */
+    @Test
+    @Timeout(30)
+    public void scanErrorStopsExport() {
+        QueryStreamer failingStreamer = new QueryStreamer(null, 1) {
+            @Override
+            public <T> long forEach(JPAQuery<T> query, Consumer<? super T> consumer) {
+                throw new StackOverflowError("scan");
+            }
+        };
+        PartitionedMemberExporter failing =
+                new PartitionedMemberExporter(queryFactory, idRangeSplitter, failingStreamer, transactionManager,
+                        3, 300, 50, 2);
+        try {
+            assertThatThrownBy(() -> failing.export(chunk -> { }, true))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasCauseInstanceOf(StackOverflowError.class);
+        } finally {
+            failing.destroy();
+        }
+    }
+
+    @Test
+    public void columnarFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("members.bin");
+        try (ColumnarMemberWriter writer = new ColumnarMemberWriter(file)) {
+            exporter.export(writer, true);
+        }
+
+        List<MemberTeamDto> rows = new ArrayList<>();
+        try (ColumnarMemberReader reader = new ColumnarMemberReader(file)) {
+            reader.forEach(rows::add);
+        }
+        assertThat(rows).hasSize(MEMBERS).extracting(MemberTeamDto::getMemberId).isSorted();
+        assertThat(rows).extracting(MemberTeamDto::getTeamName).doesNotContainNull();
+    }
+
+    @Test
+    public void csvSink() throws IOException {
+        StringWriter out = new StringWriter();
+        try (CsvMemberExportSink sink = new CsvMemberExportSink(out)) {
+            sink.write(List.of(
+                    new MemberTeamDto(1L, "member1", 10, 2L, "teamA"),
+                    new MemberTeamDto(3L, "kim, \"jr\"", 20, null, null)));
+        }
+        assertThat(out.toString()).isEqualTo("""
+                member_id,username,age,team_id,team_name
+                1,member1,10,2,teamA
+                3,"kim, ""jr\""",20,,
+                """);
+    }
+}
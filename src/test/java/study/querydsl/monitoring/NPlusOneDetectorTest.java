@@ -0,0 +1,111 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+//배치 페치를 끄고 N+1을 재현
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.default_batch_fetch_size=1")
+@Transactional
+class NPlusOneDetectorTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    NPlusOneDetector detector;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        for (int i = 1; i <= 4; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void detectsLazyToOneLoads() {
+        try (QueryScope scope = detector.start()) {
+            List<Member> members = queryFactory.selectFrom(member).fetch();
+            members.forEach(m -> m.getTeam().getName());
+
+            assertThat(scope.getStatementCount()).isEqualTo(5);
+            assertThat(scope.repeatedSelects(detector.getThreshold()))
+                    .singleElement()
+                    .satisfies(stats -> {
+                        assertThat(stats.getCount()).isEqualTo(4);
+                        assertThat(stats.getCause()).isEqualTo(Team.class.getName() + " (lazy proxy)");
+                    });
+        }
+    }
+
+    @Test
+    public void detectsLazyCollectionLoads() {
+        try (QueryScope scope = detector.start()) {
+            List<Team> teams = queryFactory.selectFrom(team).fetch();
+            teams.forEach(t -> t.getMembers().size());
+
+            assertThat(scope.repeatedSelects(detector.getThreshold()))
+                    .extracting(QueryScope.ShapeStats::getCause)
+                    .containsExactly(Team.class.getName() + ".members");
+        }
+    }
+
+    @Test
+    public void fetchJoinHasNoRepeatedSelects() {
+        try (QueryScope scope = detector.start()) {
+            List<Member> members = queryFactory.selectFrom(member)
+                    .join(member.team, team).fetchJoin()
+                    .fetch();
+            members.forEach(m -> m.getTeam().getName());
+
+            assertThat(scope.getStatementCount()).isEqualTo(1);
+            assertThat(scope.repeatedSelects(detector.getThreshold())).isEmpty();
+        }
+    }
+
+    @Test
+    public void publishesCountsAsMeters() {
+        FunctionCounter statements = meterRegistry.get("querydsl.nplusone.statements").functionCounter();
+        FunctionCounter detections = meterRegistry.get("querydsl.nplusone.detections").functionCounter();
+        double statementsBefore = statements.count();
+        double detectionsBefore = detections.count();
+
+        try (QueryScope scope = detector.start()) {
+            queryFactory.selectFrom(member).fetch().forEach(m -> m.getTeam().getName());
+        }
+
+        assertThat(statements.count() - statementsBefore).isEqualTo(5);
+        assertThat(detections.count() - detectionsBefore).isEqualTo(1);
+        assertThat(statements.count()).isEqualTo(detector.getStatementCount());
+    }
+
+    @Test
+    public void shapeIgnoresLiteralsAndInListLength() {
+        assertThat(NPlusOneDetector.shapeOf("select * from member where age in (?, ?, ?) and username = 'a'"))
+                .isEqualTo(NPlusOneDetector.shapeOf("select *  from member where age in (?,?) and username = 'bb'"));
+    }
+}
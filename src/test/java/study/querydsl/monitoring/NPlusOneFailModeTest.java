@@ -0,0 +1,42 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* FAIL 모드에서는 트랜잭션 안에서 N+1이 생기면 바로 예외가 발생한다. */
+@SpringBootTest(properties = {
+        "querydsl.nplusone.mode=FAIL",
+        "spring.jpa.properties.hibernate.default_batch_fetch_size=1"})
+@Transactional
+class NPlusOneFailModeTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    public void failsOnRepeatedLazyLoads() {
+        for (int i = 1; i <= 4; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, i * 10, team));
+        }
+        em.flush();
+        em.clear();
+
+        List<Member> members = new JPAQueryFactory(em).selectFrom(member).fetch();
+
+        assertThatThrownBy(() -> members.forEach(m -> m.getTeam().getName()))
+                .hasStackTraceContaining(NPlusOneException.class.getName());
+    }
+}
@@ -0,0 +1,58 @@
+package study.querydsl.monitoring;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class QueryPlanCacheEndpointTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    QueryPlanCacheEndpoint endpoint;
+
+    /* IN 목록 길이가 달라도 QueryDSL은 컬렉션 파라미터 하나로 직렬화하므로 JPQL 플랜은 하나만 생긴다.
+     * (원소가 하나면 = 로 직렬화되어 다른 JPQL이 되므로 두 개 이상으로 비교)
+     * Statistics는 같은 컨텍스트를 쓰는 테스트가 공유하므로 실행 전후 차이로 확인한다.
+     */
+    @Test
+    public void inListsOfDifferentLengthShareOnePlan() {
+        em.persist(new Member("member1", 10));
+        em.persist(new Member("member2", 20));
+        String jpql = queryFactory.selectFrom(member).where(member.age.in(10, 20)).toString();
+        QueryPlanStats before = statsFor(jpql);
+
+        assertThat(queryFactory.selectFrom(member).where(member.age.in(10, 20)).fetch()).hasSize(2);
+        assertThat(queryFactory.selectFrom(member).where(member.age.in(10, 20, 30)).fetch()).hasSize(2);
+        assertThat(queryFactory.selectFrom(member).where(member.age.in(10, 30, 40, 50)).fetch()).hasSize(1);
+
+        QueryPlanStats after = statsFor(jpql);
+        assertThat(after.executions() - before.executions()).isEqualTo(3);
+        assertThat(after.planCacheMisses() - before.planCacheMisses()).isLessThanOrEqualTo(1);
+
+        Map<String, Object> summary = endpoint.queryPlans();
+        assertThat(summary).containsKeys("hits", "misses", "estimatedEvictions", "queries");
+    }
+
+    private QueryPlanStats statsFor(String jpql) {
+        return endpoint.queryStats().stream()
+                .filter(stats -> stats.query().trim().equals(jpql))
+                .findFirst()
+                .orElse(new QueryPlanStats(jpql, 0, 0, 0, 0));
+    }
+}
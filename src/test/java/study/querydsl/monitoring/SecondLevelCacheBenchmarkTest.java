@@ -0,0 +1,69 @@
+package study.querydsl.monitoring;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+import study.querydsl.support.MemberFixtures;
+
+/* 반복되는 Team 조회 : 2차 캐시 사용 vs 무시(CacheMode.IGNORE)
+ * ./gradlew benchmark --tests '*SecondLevelCacheBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+    private static final int ROUNDS = 20;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    SecondLevelCacheMetrics cacheMetrics;
+
+    @AfterEach
+    public void after() {
+        jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        em.getEntityManagerFactory().getCache().evict(Team.class);
+    }
+
+    @Test
+    public void repeatedTeamLookups() {
+        transactionTemplate.executeWithoutResult(status -> MemberFixtures.insertTeams(jdbcTemplate, TEAMS));
+
+        run("no cache (CacheMode.IGNORE)", CacheMode.IGNORE);
+        run("second-level cache", CacheMode.NORMAL);
+        System.out.println(cacheMetrics.region(Team.CACHE_REGION));
+    }
+
+    private void run(String name, CacheMode cacheMode) {
+        long statementsBefore = cacheMetrics.prepareStatementCount();
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            //라운드마다 새 트랜잭션(새 영속성 컨텍스트)
+            transactionTemplate.executeWithoutResult(status -> {
+                em.unwrap(Session.class).setCacheMode(cacheMode);
+                for (int i = 0; i < TEAMS; i++) {
+                    em.find(Team.class, MemberFixtures.BASE_ID + i).getName();
+                }
+            });
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+        System.out.printf("%-28s %,d lookups, %,d DB statements, %.1fms%n",
+                name, TEAMS * ROUNDS, cacheMetrics.prepareStatementCount() - statementsBefore, millis);
+    }
+}
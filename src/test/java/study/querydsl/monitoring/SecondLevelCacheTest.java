@@ -0,0 +1,59 @@
+package study.querydsl.monitoring;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Team;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 2차 캐시는 트랜잭션 커밋 후에 공유되므로 테스트 트랜잭션(롤백)을 사용하지 않는다. */
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    private static final String TEAM_REGION = Team.CACHE_REGION;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    SecondLevelCacheMetrics cacheMetrics;
+
+    Long teamId;
+
+    @BeforeEach
+    public void before() {
+        teamId = transactionTemplate.execute(status -> {
+            Team team = new Team("cachedTeam");
+            em.persist(team);
+            return team.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transactionTemplate.executeWithoutResult(status -> em.remove(em.find(Team.class, teamId)));
+    }
+
+    @Test
+    public void repeatedTeamLookupsHitCache() {
+        CacheRegionStats before = cacheMetrics.region(TEAM_REGION);
+        long statementsBefore = cacheMetrics.prepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            transactionTemplate.executeWithoutResult(status ->
+                    assertThat(em.find(Team.class, teamId).getName()).isEqualTo("cachedTeam"));
+        }
+
+        CacheRegionStats after = cacheMetrics.region(TEAM_REGION);
+        assertThat(after.hits() - before.hits()).isEqualTo(5);
+        assertThat(cacheMetrics.prepareStatementCount()).isEqualTo(statementsBefore);
+    }
+}
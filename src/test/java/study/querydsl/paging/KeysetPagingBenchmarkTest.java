@@ -0,0 +1,82 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* offset 페이징 vs 키셋 페이징
+ * ./gradlew benchmark --tests '*KeysetPagingBenchmarkTest' -Dbench.rows=1100000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class KeysetPagingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void offsetVsKeyset() {
+        int rows = MemberFixtures.intProperty("bench.rows", 1_100_000);
+        MemberFixtures.insertMembers(jdbcTemplate, rows, 0);
+
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        Keyset<Member> keyset = MemberKeysets.AGE_DESC_USERNAME_ASC;
+
+        for (int offset : new int[]{10_000, 100_000, 1_000_000}) {
+            if (offset + PAGE_SIZE > rows) {
+                continue;
+            }
+            // 키셋 쪽은 offset 바로 앞 행을 커서로 사용 (측정 제외)
+            Member previous = queryFactory.selectFrom(member)
+                    .orderBy(keyset.orderSpecifiers())
+                    .offset(offset - 1L)
+                    .limit(1)
+                    .fetchOne();
+            String cursor = keyset.cursorOf(previous);
+
+            long offsetNanos = 0;
+            long keysetNanos = 0;
+            List<Member> byOffset = null;
+            List<Member> byKeyset = null;
+            for (int i = 0; i < ROUNDS; i++) {
+                em.clear();
+                long start = System.nanoTime();
+                byOffset = queryFactory.selectFrom(member)
+                        .orderBy(keyset.orderSpecifiers())
+                        .offset(offset)
+                        .limit(PAGE_SIZE)
+                        .fetch();
+                offsetNanos += System.nanoTime() - start;
+
+                em.clear();
+                start = System.nanoTime();
+                byKeyset = keyset.fetchPage(queryFactory.selectFrom(member), cursor, PAGE_SIZE).getContent();
+                keysetNanos += System.nanoTime() - start;
+            }
+
+            assertThat(byKeyset).extracting("id").containsExactlyElementsOf(
+                    byOffset.stream().map(Member::getId).toList());
+            System.out.printf("offset=%,d  offset paging=%.2fms  keyset paging=%.2fms%n",
+                    offset, offsetNanos / 1e6 / ROUNDS, keysetNanos / 1e6 / ROUNDS);
+        }
+    }
+}
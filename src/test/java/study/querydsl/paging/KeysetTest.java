@@ -0,0 +1,86 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class KeysetTest {
+
+    @Autowired
+    EntityManager em;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+
+        em.persist(new Member("member1", 10));
+        em.persist(new Member("member2", 20));
+        em.persist(new Member("member3", 20));
+        em.persist(new Member(null, 20));
+        em.persist(new Member("member4", 30));
+        em.persist(new Member(null, 30));
+        em.persist(new Member("member5", 40));
+    }
+
+    /* 키셋 페이징으로 끝까지 넘긴 결과가 전체 정렬 결과와 같아야 한다. */
+    @Test
+    public void keysetPagingMatchesFullOrdering() {
+        Keyset<Member> keyset = MemberKeysets.AGE_DESC_USERNAME_ASC;
+        List<Member> expected = queryFactory
+                .selectFrom(member)
+                .orderBy(keyset.orderSpecifiers())
+                .fetch();
+
+        List<Member> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<Member> page = keyset.fetchPage(queryFactory.selectFrom(member), cursor, 2);
+            assertThat(page.getContent().size()).isLessThanOrEqualTo(2);
+            paged.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(paged).containsExactlyElementsOf(expected);
+        assertThat(paged)
+                .extracting("username")
+                .containsExactly("member5", "member4", null, "member2", "member3", null, "member1");
+    }
+
+    @Test
+    public void rejectsNonPositiveSize() {
+        Keyset<Member> keyset = MemberKeysets.AGE_DESC_USERNAME_ASC;
+
+        assertThatThrownBy(() -> keyset.fetchPage(queryFactory.selectFrom(member), null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> keyset.fetchPage(queryFactory.selectFrom(member), null, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void cursorRoundTrip() {
+        List<Object> values = new ArrayList<>();
+        values.add(30);
+        values.add(null);
+        values.add(7L);
+        values.add("멤버");
+
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(values))).containsExactly(30, null, 7L, "멤버");
+        assertThatThrownBy(() -> KeysetCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
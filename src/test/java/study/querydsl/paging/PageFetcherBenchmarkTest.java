@@ -0,0 +1,72 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.function.LongSupplier;
+
+import static study.querydsl.entity.QMember.member;
+
+/* fetchResults() vs count 생략/캐시
+ * ./gradlew benchmark --tests '*PageFetcherBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class PageFetcherBenchmarkTest {
+
+    private static final int ITERATIONS = 500;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PageFetcher pageFetcher;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void memberListingLatency() {
+        int rows = MemberFixtures.intProperty("bench.rows", 200_010);
+        MemberFixtures.insertMembers(jdbcTemplate, rows, 0);
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        LongSupplier count = () -> queryFactory.select(member.count()).from(member).fetchOne();
+        int lastPage = rows / PAGE_SIZE;
+
+        LatencyRecorder fetchResults = new LatencyRecorder("fetchResults (last page)");
+        LatencyRecorder elided = new LatencyRecorder("PageFetcher.fetch (last page)");
+        LatencyRecorder countedFirst = new LatencyRecorder("fetchResults (first page)");
+        LatencyRecorder cachedFirst = new LatencyRecorder("cached count (first page)");
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            em.clear();
+            fetchResults.time(() -> queryFactory.selectFrom(member)
+                    .offset((long) lastPage * PAGE_SIZE).limit(PAGE_SIZE).fetchResults());
+            em.clear();
+            elided.time(() -> pageFetcher.fetch(queryFactory.selectFrom(member), count,
+                    PageRequest.of(lastPage, PAGE_SIZE)));
+            em.clear();
+            countedFirst.time(() -> queryFactory.selectFrom(member).limit(PAGE_SIZE).fetchResults());
+            em.clear();
+            cachedFirst.time(() -> pageFetcher.fetchWithCachedCount(queryFactory.selectFrom(member), count,
+                    PageRequest.of(0, PAGE_SIZE), "bench-members"));
+        }
+
+        System.out.println(fetchResults.summary());
+        System.out.println(elided.summary());
+        System.out.println(countedFirst.summary());
+        System.out.println(cachedFirst.summary());
+    }
+}
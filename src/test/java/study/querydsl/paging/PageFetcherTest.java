@@ -0,0 +1,116 @@
+package study.querydsl.paging;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+@Transactional
+class PageFetcherTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PageFetcher pageFetcher;
+
+    JPAQueryFactory queryFactory;
+    AtomicInteger countCalls = new AtomicInteger();
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 4; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+    }
+
+    private LongSupplier countQuery() {
+        return () -> {
+            countCalls.incrementAndGet();
+            return queryFactory.select(member.count()).from(member).fetchOne();
+        };
+    }
+
+    @Test
+    public void countSkippedWhenFirstPageIsShort() {
+        Page<Member> page = pageFetcher.fetch(queryFactory.selectFrom(member).orderBy(member.id.asc()),
+                countQuery(), PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(countCalls.get()).isZero();
+    }
+
+    @Test
+    public void countSkippedOnLastPage() {
+        Page<Member> page = pageFetcher.fetch(queryFactory.selectFrom(member).orderBy(member.id.asc()),
+                countQuery(), PageRequest.of(1, 3));
+
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(countCalls.get()).isZero();
+    }
+
+    @Test
+    public void countExecutedForFullMiddlePage() {
+        Page<Member> page = pageFetcher.fetch(queryFactory.selectFrom(member).orderBy(member.id.asc()),
+                countQuery(), PageRequest.of(0, 2));
+
+        assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(countCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void cachedCountReused() {
+        for (int i = 0; i < 3; i++) {
+            Page<Member> page = pageFetcher.fetchWithCachedCount(
+                    queryFactory.selectFrom(member).orderBy(member.id.asc()),
+                    countQuery(), PageRequest.of(0, 2), "members");
+            assertThat(page.getTotalElements()).isEqualTo(4);
+        }
+        pageFetcher.evictCount("members");
+
+        assertThat(countCalls.get()).isEqualTo(1);
+    }
+
+    /* count는 호출 스레드가 아닌 별도 스레드의 읽기 전용 트랜잭션에서 실행된다. */
+    @Test
+    public void asyncCountRunsInSeparateTransaction() {
+        AtomicReference<String> countThread = new AtomicReference<>();
+        AtomicBoolean readOnly = new AtomicBoolean();
+
+        Page<Member> page = pageFetcher.fetchWithAsyncCount(
+                queryFactory.selectFrom(member).orderBy(member.id.asc()),
+                () -> {
+                    countThread.set(Thread.currentThread().getName());
+                    readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                    return 100;
+                },
+                PageRequest.of(0, 2));
+
+        assertThat(page.getTotalElements()).isEqualTo(100);
+        assertThat(countThread.get()).startsWith("page-count-");
+        assertThat(readOnly.get()).isTrue();
+    }
+}
@@ -0,0 +1,83 @@
+package study.querydsl.query;
+
+import com.querydsl.core.types.dsl.Param;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class PreparedQueryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PreparedQueryFactory preparedQueryFactory;
+
+    Param<String> username = new Param<>(String.class, "username");
+    Param<Integer> age = new Param<>(Integer.class, "age");
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30));
+    }
+
+    /* search()와 같은 조회를 한 번 정의하고 값만 바꿔서 실행 */
+    @Test
+    public void prepareOnceExecuteMany() {
+        PreparedQuery<Member> search = preparedQueryFactory.prepare(queryFactory
+                .selectFrom(member)
+                .where(member.username.eq(username), member.age.eq(age)));
+
+        assertThat(search.bind(username, "member1").bind(age, 10).fetchOne().getUsername()).isEqualTo("member1");
+        assertThat(search.bind(username, "member2").bind(age, 20).fetchOne().getUsername()).isEqualTo("member2");
+        assertThat(search.bind(username, "member2").bind(age, 10).fetchOne()).isNull();
+    }
+
+    @Test
+    public void dtoProjectionWithLimit() {
+        PreparedQuery<MemberDto> membersOfTeam = preparedQueryFactory.prepare(queryFactory
+                .select(new QMemberDto(member.username, member.age))
+                .from(member)
+                .join(member.team, team)
+                .where(team.name.eq("teamA"), member.age.goe(age))
+                .orderBy(member.age.desc())
+                .limit(1));
+
+        List<MemberDto> result = membersOfTeam.bind(age, 0).fetch();
+
+        assertThat(result).extracting("username").containsExactly("member2");
+    }
+
+    @Test
+    public void missingParameter() {
+        PreparedQuery<Member> search = preparedQueryFactory.prepare(queryFactory
+                .selectFrom(member)
+                .where(member.username.eq(username)));
+
+        assertThatThrownBy(() -> search.execution().fetch())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.monitoring.NPlusOneDetector;
+import study.querydsl.monitoring.QueryScope;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 팀 1,000개 x 회원 50명, 팀별 회원 로딩
+ * 1) N+1 : 팀마다 회원 조회
+ * 2) 배치 페치 : default_batch_fetch_size로 지연 로딩을 IN 쿼리로 묶음
+ * 3) TeamMembersLoader : IN + fetch join
+ * ./gradlew benchmark --tests '*BatchFetchBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class BatchFetchBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+    private static final int MEMBERS_PER_TEAM = 50;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TeamMembersLoader teamMembersLoader;
+
+    @Autowired
+    NPlusOneDetector detector;
+
+    @Test
+    public void loadTeamMembers() {
+        MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+        MemberFixtures.insertMembers(jdbcTemplate, TEAMS * MEMBERS_PER_TEAM, TEAMS);
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+        List<Long> teamIds = queryFactory.select(team.id).from(team).fetch();
+
+        measure("N+1 (query per team)", ids -> ids.stream()
+                .mapToInt(id -> queryFactory.selectFrom(member).where(member.team.id.eq(id)).fetch().size())
+                .sum(), teamIds);
+        measure("default_batch_fetch_size", ids -> queryFactory.selectFrom(team).where(team.id.in(ids)).fetch()
+                .stream()
+                .mapToInt(t -> t.getMembers().size())
+                .sum(), teamIds);
+        measure("TeamMembersLoader", ids -> teamMembersLoader.loadWithMembers(ids).stream()
+                .mapToInt(t -> t.getMembers().size())
+                .sum(), teamIds);
+    }
+
+    private void measure(String name, ToIntFunction<List<Long>> load, List<Long> teamIds) {
+        long nanos = 0;
+        int statements = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            em.clear();
+            try (QueryScope scope = detector.start()) {
+                long start = System.nanoTime();
+                load.applyAsInt(teamIds);
+                nanos += System.nanoTime() - start;
+                statements = scope.getStatementCount();
+            }
+        }
+        System.out.printf("%-28s %.1fms, %d statements%n", name, nanos / 1e6 / ROUNDS, statements);
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MemberIdRangeSplitterTest {
+
+    private static final int MEMBERS = 1_000;
+    //fixture id(BASE_ID~)와 멀리 떨어진 id
+    private static final long SPARSE_ID = MemberFixtures.BASE_ID - 100_000_000L;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberIdRangeSplitter idRangeSplitter;
+
+    @BeforeEach
+    public void before() {
+        MemberFixtures.insertTeams(jdbcTemplate, 7);
+        MemberFixtures.insertMembers(jdbcTemplate, MEMBERS, 7);
+        jdbcTemplate.update("insert into member (member_id, username, age) values (?, ?, ?)", SPARSE_ID, "sparse", 1);
+    }
+
+    /* id 사이가 크게 비어 있어도 구간마다 행 수가 고르게 나뉜다. */
+    @Test
+    public void splitByPartitionCount() {
+        List<long[]> ranges = idRangeSplitter.split(4);
+
+        assertThat(ranges).hasSize(4);
+        assertThat(ranges.get(0)[0]).isEqualTo(SPARSE_ID);
+        assertThat(ranges.get(3)[1]).isEqualTo(MemberFixtures.BASE_ID + MEMBERS - 1);
+        //1,001행 → 251 + 250 * 3
+        assertThat(ranges).extracting(this::count).containsExactly(251L, 250L, 250L, 250L);
+    }
+
+    @Test
+    public void splitByRowCount() {
+        List<long[]> ranges = idRangeSplitter.splitByRows(300);
+
+        assertThat(ranges).hasSize((MEMBERS + 1 + 299) / 300);
+        assertThat(ranges.get(0)[0]).isEqualTo(SPARSE_ID);
+        assertThat(ranges.get(ranges.size() - 1)[1]).isEqualTo(MemberFixtures.BASE_ID + MEMBERS - 1);
+        assertThat(ranges).extracting(this::count).containsExactly(300L, 300L, 300L, 101L);
+    }
+
+    /* 구간은 빈틈없이 이어진다. (구간 사이 id에 나중에 들어온 행도 어느 한 구간에 속함) */
+    @Test
+    public void rangesAreContiguous() {
+        List<long[]> ranges = idRangeSplitter.split(7);
+
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i)[0]).isEqualTo(ranges.get(i - 1)[1] + 1);
+        }
+    }
+
+    @Test
+    public void fewerRowsThanPartitions() {
+        jdbcTemplate.update("delete from member where member_id > ?", MemberFixtures.BASE_ID + 1);
+
+        assertThat(idRangeSplitter.split(8)).extracting(this::count).containsExactly(1L, 1L, 1L);
+    }
+
+    @Test
+    public void rejectsNonPositiveSize() {
+        assertThatThrownBy(() -> idRangeSplitter.split(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> idRangeSplitter.splitByRows(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long count(long[] range) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from member where member_id between ? and ?", Long.class, range[0], range[1]);
+    }
+}
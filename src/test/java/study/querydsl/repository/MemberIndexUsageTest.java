@@ -0,0 +1,106 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.monitoring.NPlusOneDetector;
+import study.querydsl.support.ExplainPlans;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 리포지토리 쿼리의 H2 실행 계획 검사
+ * 조건이 있는 조회는 모두 인덱스로 접근해야 한다. (Member/Team의 @Table(indexes))
+ * 조건 없는 전체 조회(findAllMembers, findAllMemberTeams)와 contains 검색('%abc%')은 원래 full scan이라 제외
+ */
+@SpringBootTest
+@Transactional
+class MemberIndexUsageTest {
+
+    private static final int TEAMS = 100;
+    private static final int MEMBERS = 10_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    NPlusOneDetector detector;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    TeamMembersLoader teamMembersLoader;
+
+    /* 행이 거의 없으면 H2가 인덱스 대신 테이블 스캔을 고를 수 있어서 어느 정도 채워 둔다. */
+    @BeforeEach
+    public void before() {
+        MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+        MemberFixtures.insertMembers(jdbcTemplate, MEMBERS, TEAMS);
+    }
+
+    @Test
+    public void findByUsername() {
+        assertNoFullScan(() -> memberQueryRepository.findByUsername("member1"));
+    }
+
+    @Test
+    public void findByTeamName() {
+        assertNoFullScan(() -> memberQueryRepository.findByTeamName("team1"));
+    }
+
+    @Test
+    public void searchByUsername() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        condition.setAgeGoe(10);
+        assertNoFullScan(() -> memberQueryRepository.search(condition));
+    }
+
+    @Test
+    public void searchByTeamIdAndAgeRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamId(MemberFixtures.BASE_ID);
+        condition.setAgeGoe(10);
+        condition.setAgeLoe(20);
+        assertNoFullScan(() -> memberQueryRepository.search(condition));
+    }
+
+    @Test
+    public void searchByAgeRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(95);
+        assertNoFullScan(() -> memberQueryRepository.search(condition));
+    }
+
+    @Test
+    public void searchPageByTeamId() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setTeamId(MemberFixtures.BASE_ID);
+        assertNoFullScan(() -> memberQueryRepository.searchPage(condition, PageRequest.of(0, 10)));
+    }
+
+    @Test
+    public void loadTeamsWithMembers() {
+        List<Long> teamIds = List.of(MemberFixtures.BASE_ID, MemberFixtures.BASE_ID + 1);
+        assertNoFullScan(() -> teamMembersLoader.loadWithMembers(teamIds));
+    }
+
+    /* 검사 자체가 동작하는지 : 조건 없는 전체 조회는 full scan으로 잡혀야 한다. */
+    @Test
+    public void detectsFullScan() {
+        List<String> plans = ExplainPlans.explainAll(detector, jdbcTemplate, memberQueryRepository::findAllMembers);
+        assertThat(plans).anyMatch(ExplainPlans::isFullScan);
+    }
+
+    private void assertNoFullScan(Runnable queries) {
+        ExplainPlans.assertNoFullScan(detector, jdbcTemplate, queries);
+    }
+}
@@ -0,0 +1,110 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MemberQueryRepositoryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    Team teamA;
+    Team teamB;
+
+    @BeforeEach
+    public void before() {
+        teamA = new Team("teamA");
+        teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.persist(new Member("member3", 30, teamB));
+        em.persist(new Member("member4", 40, teamB));
+        em.persist(new Member("member5", 50));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void findByTeamName() {
+        List<MemberTeamDto> result = memberQueryRepository.findByTeamName("teamA");
+
+        assertThat(result).extracting("username").containsExactly("member1", "member2");
+        assertThat(result).extracting("teamName").containsOnly("teamA");
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    public void findAllMemberTeamsIncludesMembersWithoutTeam() {
+        List<MemberTeamDto> result = memberQueryRepository.findAllMemberTeams();
+
+        assertThat(result).hasSize(5);
+        MemberTeamDto noTeam = memberQueryRepository.findByUsername("member5");
+        assertThat(noTeam.getTeamId()).isNull();
+        assertThat(noTeam.getTeamName()).isNull();
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    public void search() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(15);
+        condition.setAgeLoe(45);
+        condition.setTeamName("teamB");
+
+        assertThat(memberQueryRepository.search(condition))
+                .extracting("username")
+                .containsExactly("member3", "member4");
+    }
+
+    /* 이름이 같아도 다른 팀이면 합치지 않는다. */
+    @Test
+    public void teamAgeStatsKeepsTeamsWithSameName() {
+        Team otherTeamA = new Team("teamA");
+        em.persist(otherTeamA);
+        em.persist(new Member("member6", 60, otherTeamA));
+        em.flush();
+
+        assertThat(memberQueryRepository.teamAgeStats(new MemberSearchCondition()))
+                .extracting(TeamAgeStatsDto::getTeamId, TeamAgeStatsDto::getTeamName,
+                        TeamAgeStatsDto::getCount, TeamAgeStatsDto::getAgeSum)
+                .containsExactly(
+                        tuple(teamA.getId(), "teamA", 2L, 30L),
+                        tuple(otherTeamA.getId(), "teamA", 1L, 60L),
+                        tuple(teamB.getId(), "teamB", 2L, 70L));
+    }
+
+    @Test
+    public void searchPage() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernameKeyword("member*");
+
+        Page<MemberTeamDto> page = memberQueryRepository.searchPage(condition, PageRequest.of(0, 3));
+
+        assertThat(page.getContent()).extracting("username").containsExactly("member1", "member2", "member3");
+        assertThat(page.getTotalElements()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,67 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 검색 조건 : 단순 나열(contains, goe/loe) vs MemberSearchPredicates
+ * ./gradlew benchmark --tests '*MemberSearchBenchmarkTest' -Dbench.rows=5000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class MemberSearchBenchmarkTest {
+
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Test
+    public void naiveVsComposedPredicates() {
+        int rows = MemberFixtures.intProperty("bench.rows", 5_000_000);
+        MemberFixtures.insertTeams(jdbcTemplate, 1_000);
+        MemberFixtures.insertMembers(jdbcTemplate, rows, 1_000);
+
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernameKeyword("member12345*");
+        condition.setAgeGoe(40);
+        condition.setAgeLoe(50);
+        condition.setTeamName("team345");
+
+        LatencyRecorder naive = new LatencyRecorder("naive");
+        LatencyRecorder composed = new LatencyRecorder("MemberSearchPredicates");
+        for (int i = 0; i < ITERATIONS; i++) {
+            naive.time(() -> queryFactory
+                    .select(new QMemberTeamDto(member.id, member.username, member.age, team.id, team.name))
+                    .from(member)
+                    .leftJoin(member.team, team)
+                    .where(member.age.goe(40),
+                            team.name.eq("team345"),
+                            member.username.contains("member12345"),
+                            member.age.loe(50))
+                    .fetch());
+            composed.time(() -> memberQueryRepository.search(condition));
+        }
+
+        System.out.println(naive.summary());
+        System.out.println(composed.summary());
+    }
+}
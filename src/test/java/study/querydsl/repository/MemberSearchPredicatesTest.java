@@ -0,0 +1,44 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.BooleanBuilder;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+class MemberSearchPredicatesTest {
+
+    @Test
+    public void emptyConditionHasNoPredicate() {
+        assertThat(((BooleanBuilder) MemberSearchPredicates.of(new MemberSearchCondition())).hasValue()).isFalse();
+    }
+
+    /* 입력 순서와 상관없이 선택도 순서로 정렬되고, 나이 범위는 between으로 합쳐진다. */
+    @Test
+    public void orderedBySelectivityWithCollapsedRange() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(20);
+        condition.setAgeLoe(30);
+        condition.setTeamName("teamA");
+        condition.setUsername("member1");
+
+        assertThat(MemberSearchPredicates.of(condition)).isEqualTo(new BooleanBuilder()
+                .and(member.username.eq("member1"))
+                .and(team.name.eq("teamA"))
+                .and(member.age.between(20, 30)));
+    }
+
+    @Test
+    public void prefixKeywordUsesStartsWith() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsernameKeyword("mem*");
+        assertThat(MemberSearchPredicates.of(condition))
+                .isEqualTo(new BooleanBuilder(member.username.startsWith("mem")));
+
+        condition.setUsernameKeyword("mem");
+        assertThat(MemberSearchPredicates.of(condition))
+                .isEqualTo(new BooleanBuilder(member.username.contains("mem")));
+    }
+}
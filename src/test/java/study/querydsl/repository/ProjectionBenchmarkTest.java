@@ -0,0 +1,77 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.support.AllocationMeter;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 엔티티 조회 vs DTO 조회, 10,000건당 지연시간/할당량
+ * ./gradlew benchmark --tests '*ProjectionBenchmarkTest'
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Transactional
+class ProjectionBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Test
+    public void entityVsDto() {
+        MemberFixtures.insertTeams(jdbcTemplate, 100);
+        MemberFixtures.insertMembers(jdbcTemplate, ROWS, 100);
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        measure("entity (selectFrom + team 접근)", () -> {
+            List<Member> members = queryFactory.selectFrom(member).fetch();
+            members.forEach(m -> m.getTeam().getName());
+            return members;
+        });
+        measure("entity (fetch join)", () -> queryFactory.selectFrom(member)
+                .join(member.team, team).fetchJoin()
+                .fetch());
+        measure("dto (@QueryProjection)", memberQueryRepository::findAllMemberTeams);
+    }
+
+    private void measure(String name, Supplier<List<?>> query) {
+        for (int i = 0; i < WARMUP; i++) {
+            query.get();
+            em.clear();
+        }
+        long bytes = 0;
+        long nanos = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long allocated = AllocationMeter.allocatedBytes();
+            long start = System.nanoTime();
+            query.get();
+            nanos += System.nanoTime() - start;
+            bytes += AllocationMeter.allocatedBytes() - allocated;
+            em.clear();
+        }
+        System.out.printf("%-32s %.2fms, %,d KB allocated per %,d rows%n",
+                name, nanos / 1e6 / ROUNDS, bytes / 1024 / ROUNDS, ROWS);
+    }
+}
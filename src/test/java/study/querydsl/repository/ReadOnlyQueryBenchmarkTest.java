@@ -0,0 +1,121 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.support.AllocationMeter;
+import study.querydsl.support.MemberFixtures;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 회원 엔티티 10만 건 로딩 : 쓰기 트랜잭션 vs 읽기 전용 (MemberQueryRepository.findMembers와 같은 쿼리)
+ * 두 경우 모두 같은 쿼리를 실행하고 읽기 전용 힌트와 트랜잭션 readOnly만 다르다.
+ * CPU 시간, 할당량, 영속성 컨텍스트가 붙잡고 있는 힙
+ * ./gradlew benchmark --tests '*ReadOnlyQueryBenchmarkTest' -Dbench.rows=100000
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ReadOnlyQueryBenchmarkTest {
+
+    private static final int ROUNDS = 10;
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transaction;
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        int rows = MemberFixtures.intProperty("bench.rows", 100_000);
+        transaction.executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, 100);
+            MemberFixtures.insertMembers(jdbcTemplate, rows, 100);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    @Test
+    public void readWriteVsReadOnly() {
+        measure("read-write", transaction, () -> membersQuery().fetch());
+        measure("read-only", readOnlyTransaction,
+                () -> membersQuery().setHint(HibernateHints.HINT_READ_ONLY, true).fetch());
+    }
+
+    /* MemberQueryRepository.findMembers에서 힌트만 뺀 쿼리 */
+    private JPAQuery<Member> membersQuery() {
+        return queryFactory
+                .selectFrom(member)
+                .leftJoin(member.team, team).fetchJoin()
+                .where(MemberSearchPredicates.of(new MemberSearchCondition()));
+    }
+
+    /* 트랜잭션 커밋(flush)까지 포함해서 측정, 힙 보유량은 GC 때문에 따로 한 번 더 실행해서 측정 */
+    private void measure(String name, TransactionTemplate tx, Supplier<List<Member>> query) {
+        tx.execute(status -> query.get());
+        long cpu = 0;
+        long bytes = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long cpuStart = THREADS.getCurrentThreadCpuTime();
+            long allocated = AllocationMeter.allocatedBytes();
+            tx.execute(status -> query.get());
+            bytes += AllocationMeter.allocatedBytes() - allocated;
+            cpu += THREADS.getCurrentThreadCpuTime() - cpuStart;
+        }
+        long retained = tx.execute(status -> retained(query));
+        System.out.printf("%-28s cpu %.1fms, %,d KB allocated, %,d KB retained%n",
+                name, cpu / 1e6 / ROUNDS, bytes / 1024 / ROUNDS, retained / 1024);
+    }
+
+    /* 조회 직후 GC 후 사용 중인 힙 증가량 (엔티티 + 스냅샷) */
+    private static long retained(Supplier<List<Member>> query) {
+        long before = usedHeapAfterGc();
+        List<Member> members = query.get();
+        long used = usedHeapAfterGc() - before;
+        if (members.isEmpty()) {
+            throw new IllegalStateException("no members");
+        }
+        return used;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
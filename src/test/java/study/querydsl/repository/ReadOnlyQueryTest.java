@@ -0,0 +1,73 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ReadOnlyQueryTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @BeforeEach
+    public void before() {
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+    }
+
+    /* 테스트의 쓰기 트랜잭션에 참여해도 힌트로 로딩한 엔티티는 읽기 전용 */
+    @Test
+    public void membersAreLoadedReadOnly() {
+        Session session = em.unwrap(Session.class);
+        List<Member> members = memberQueryRepository.findMembers(new MemberSearchCondition());
+
+        assertThat(members).hasSize(2);
+        assertThat(members).allSatisfy(m -> assertThat(session.isReadOnly(m)).isTrue());
+    }
+
+    /* 팀도 같은 select로 올라오고 읽기 전용 */
+    @Test
+    public void teamsAreFetchedWithMembers() {
+        Session session = em.unwrap(Session.class);
+        List<Member> members = memberQueryRepository.findMembers(new MemberSearchCondition());
+
+        assertThat(members).allSatisfy(m -> {
+            assertThat(Hibernate.isInitialized(m.getTeam())).isTrue();
+            assertThat(session.isReadOnly(m.getTeam())).isTrue();
+        });
+    }
+
+    @Test
+    public void changesToReadOnlyMembersAreNotFlushed() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setUsername("member1");
+        Member member1 = memberQueryRepository.findMembers(condition).get(0);
+
+        member1.setAge(99);
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Member.class, member1.getId()).getAge()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.monitoring.NPlusOneDetector;
+import study.querydsl.monitoring.QueryScope;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class TeamMembersLoaderTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    TeamMembersLoader teamMembersLoader;
+
+    @Autowired
+    NPlusOneDetector detector;
+
+    List<Long> teamIds = new ArrayList<>();
+
+    @BeforeEach
+    public void before() {
+        for (int i = 1; i <= 5; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            teamIds.add(team.getId());
+            em.persist(new Member("member" + i + "-1", 10, team));
+            em.persist(new Member("member" + i + "-2", 20, team));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void loadWithMembersInOneQueryPerChunk() {
+        try (QueryScope scope = detector.start()) {
+            List<Team> teams = teamMembersLoader.loadWithMembers(teamIds, 3);
+
+            assertThat(teams).hasSize(5);
+            assertThat(teams).allMatch(t -> Hibernate.isInitialized(t.getMembers()));
+            assertThat(teams).allSatisfy(t -> assertThat(t.getMembers()).hasSize(2));
+            assertThat(scope.getStatementCount()).isEqualTo(2);
+        }
+    }
+
+    /* default_batch_fetch_size : 컬렉션을 처음 건드릴 때 나머지 팀의 컬렉션도 IN 쿼리로 함께 초기화 */
+    @Test
+    public void lazyCollectionsAreBatchFetched() {
+        try (QueryScope scope = detector.start()) {
+            List<Team> teams = new JPAQueryFactory(em).selectFrom(team).fetch();
+            int members = teams.stream().mapToInt(t -> t.getMembers().size()).sum();
+
+            assertThat(members).isEqualTo(10);
+            assertThat(scope.getStatementCount()).isEqualTo(2);
+            assertThat(scope.repeatedSelects(detector.getThreshold())).isEmpty();
+        }
+    }
+}
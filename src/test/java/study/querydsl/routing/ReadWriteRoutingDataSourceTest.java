@@ -0,0 +1,147 @@
+package study.querydsl.routing;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* H2 인스턴스 두 개로 primary/replica 흉내
+ * 실제 복제는 없으므로 replicate()에서 primary를 SCRIPT로 떠서 replica에 그대로 재생한다.
+ * 복제 전에 읽기 트랜잭션이 방금 쓴 데이터를 못 보면 레플리카에서 읽은 것
+ */
+@SpringBootTest(properties = {
+        "querydsl.routing.enabled=true",
+        "querydsl.routing.primary.jdbc-url=" + ReadWriteRoutingDataSourceTest.PRIMARY_URL,
+        "querydsl.routing.primary.username=sa",
+        "querydsl.routing.replica.jdbc-url=" + ReadWriteRoutingDataSourceTest.REPLICA_URL,
+        "querydsl.routing.replica.username=sa",
+        "querydsl.routing.max-replica-lag=1s",
+        "querydsl.routing.lag-check-interval=0s"
+})
+class ReadWriteRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate write;
+    TransactionTemplate read;
+
+    @BeforeEach
+    public void before() {
+        write = new TransactionTemplate(transactionManager);
+        read = new TransactionTemplate(transactionManager);
+        read.setReadOnly(true);
+
+        replicaLagMonitor.update(Duration.ZERO);
+        write.executeWithoutResult(status -> em.persist(new Member("member1", 10)));
+        replicate();
+    }
+
+    @AfterEach
+    public void after() {
+        write.executeWithoutResult(status -> queryFactory.delete(member).execute());
+        replicate();
+        replicaLagMonitor.update(Duration.ZERO);
+    }
+
+    @Test
+    public void readOnlyTransactionReadsReplica() {
+        write.executeWithoutResult(status -> em.persist(new Member("member2", 20)));
+
+        assertThat(read.<Long>execute(status -> countMembers())).isEqualTo(1L);
+        assertThat(write.<Long>execute(status -> countMembers())).isEqualTo(2L);
+
+        replicate();
+        assertThat(read.<Long>execute(status -> countMembers())).isEqualTo(2L);
+    }
+
+    @Test
+    public void laggingReplicaFallsBackToPrimary() {
+        write.executeWithoutResult(status -> em.persist(new Member("member2", 20)));
+        double fallbacks = counter("querydsl.datasource.replica.fallback", null);
+
+        replicaLagMonitor.update(Duration.ofSeconds(10));
+
+        assertThat(read.<Long>execute(status -> countMembers())).isEqualTo(2L);
+        assertThat(counter("querydsl.datasource.replica.fallback", null)).isGreaterThan(fallbacks);
+    }
+
+    @Test
+    public void unavailableReplicaFallsBackToPrimary() {
+        write.executeWithoutResult(status -> em.persist(new Member("member2", 20)));
+
+        replicaLagMonitor.markUnavailable(new IllegalStateException("replica down"));
+        assertThat(read.<Long>execute(status -> countMembers())).isEqualTo(2L);
+
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+        assertThat(read.<Long>execute(status -> countMembers())).isEqualTo(1L);
+    }
+
+    @Test
+    public void routeAndPoolMetrics() {
+        double replicaRoutes = counter("querydsl.datasource.route", "replica");
+        double primaryRoutes = counter("querydsl.datasource.route", "primary");
+
+        read.execute(status -> countMembers());
+        write.execute(status -> countMembers());
+
+        assertThat(counter("querydsl.datasource.route", "replica")).isEqualTo(replicaRoutes + 1);
+        assertThat(counter("querydsl.datasource.route", "primary")).isEqualTo(primaryRoutes + 1);
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge()).isNotNull();
+    }
+
+    private long countMembers() {
+        return queryFactory.select(member.count()).from(member).fetchOne();
+    }
+
+    private double counter(String name, String route) {
+        var search = meterRegistry.find(name);
+        if (route != null) {
+            search = search.tag("route", route);
+        }
+        return search.counter() == null ? 0 : search.counter().count();
+    }
+
+    /* primary 전체(스키마 + 데이터)를 replica로 복사 */
+    private static void replicate() {
+        List<String> script = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""))
+                .queryForList("script", String.class);
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("drop all objects");
+        script.stream()
+                .filter(sql -> !sql.startsWith("--"))
+                .forEach(replica::execute);
+    }
+}
@@ -0,0 +1,165 @@
+package study.querydsl.snapshot;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.cache.QueryResultCache;
+import study.querydsl.stats.TeamStatsReconciler;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 스냅샷은 JDBC로 커밋하면서 적재하므로 테스트 데이터를 커밋하고 끝나면 지운다. */
+@SpringBootTest(properties = "querydsl.snapshot.batch-size=300")
+class MemberTableSnapshotTest {
+
+    private static final int MEMBERS = 1_000;
+    private static final String MEMBERS_SQL = "select member_id, username, age, team_id from member order by member_id";
+    private static final String TEAMS_SQL = "select team_id, name from team order by team_id";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    MemberTableSnapshot snapshot;
+
+    @Autowired
+    EntityManagerFactory emf;
+
+    @Autowired
+    QueryResultCache queryResultCache;
+
+    @Autowired
+    TeamStatsReconciler teamStatsReconciler;
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, 10);
+            MemberFixtures.insertMembers(jdbcTemplate, MEMBERS, 10);
+            //회원 없는 팀, 팀 없는 회원, null/유니코드 이름
+            jdbcTemplate.update("insert into team (team_id, name) values (?, ?)", MemberFixtures.BASE_ID + 100, null);
+            jdbcTemplate.update("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+                    MemberFixtures.BASE_ID + MEMBERS, null, 7, null);
+            jdbcTemplate.update("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+                    MemberFixtures.BASE_ID + MEMBERS + 5, "회원", 200, MemberFixtures.BASE_ID + 3);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        deleteAll();
+    }
+
+    @Test
+    public void dumpAndLoad() throws IOException {
+        List<Map<String, Object>> members = jdbcTemplate.queryForList(MEMBERS_SQL);
+        List<Map<String, Object>> teams = jdbcTemplate.queryForList(TEAMS_SQL);
+        Path file = dir.resolve("members.snapshot");
+
+        assertThat(snapshot.dump(file)).isEqualTo(MEMBERS + 2);
+        deleteAll();
+        assertThat(snapshot.load(file)).isEqualTo(MEMBERS + 2);
+
+        assertThat(jdbcTemplate.queryForList(MEMBERS_SQL)).isEqualTo(members);
+        assertThat(jdbcTemplate.queryForList(TEAMS_SQL)).isEqualTo(teams);
+        //team_stats 재집계, 시퀀스는 적재한 id 뒤에서 시작
+        assertThat(jdbcTemplate.queryForObject("select sum(member_count) from team_stats", Long.class))
+                .isEqualTo(MEMBERS + 2);
+        assertThat(jdbcTemplate.queryForObject("select next value for member_seq", Long.class))
+                .isGreaterThan(MemberFixtures.BASE_ID + MEMBERS + 5);
+        assertThat(jdbcTemplate.queryForObject("select next value for team_seq", Long.class))
+                .isGreaterThan(MemberFixtures.BASE_ID + 100);
+    }
+
+    @Test
+    public void startupLoaderSkipsNonEmptyTables() throws Exception {
+        Path file = dir.resolve("members.snapshot");
+        snapshot.dump(file);
+
+        new SnapshotStartupLoader(snapshot, jdbcTemplate, file.toString()).run(null);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member", Long.class)).isEqualTo(MEMBERS + 2);
+
+        deleteAll();
+        new SnapshotStartupLoader(snapshot, jdbcTemplate, file.toString()).run(null);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member", Long.class)).isEqualTo(MEMBERS + 2);
+    }
+
+    @Test
+    public void rejectsOtherFiles() throws IOException {
+        Path file = Files.writeString(dir.resolve("members.csv"), "member_id,username,age,team_id,team_name\n");
+
+        assertThatThrownBy(() -> snapshot.load(file)).isInstanceOf(IOException.class);
+    }
+
+    /* 헤더의 건수만큼 읽고도 바이트가 남으면 잘못된 파일 */
+    @Test
+    public void rejectsTrailingBytes() throws IOException {
+        Path file = dir.resolve("members.snapshot");
+        snapshot.dump(file);
+        Files.write(file, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+        deleteAll();
+
+        assertThatThrownBy(() -> snapshot.load(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("3 bytes");
+    }
+
+    /* team을 읽은 뒤 새 팀과 그 팀 회원이 커밋되어도 덤프는 한 시점의 스냅샷이다. */
+    @Test
+    public void dumpReadsTeamsAndMembersFromOneSnapshot() throws IOException {
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        JdbcTemplate interleaving = new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch) {
+                super.query(sql, rch);
+                if (sql.contains("from team")) {
+                    concurrent.executeWithoutResult(status -> {
+                        update("insert into team (team_id, name) values (?, ?)", MemberFixtures.BASE_ID + 200, "late");
+                        update("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+                                MemberFixtures.BASE_ID + MEMBERS + 10, "late", 1, MemberFixtures.BASE_ID + 200);
+                    });
+                }
+            }
+        };
+        MemberTableSnapshot interleaved = new MemberTableSnapshot(interleaving, emf, queryResultCache,
+                teamStatsReconciler, transactionManager, 300);
+        Path file = dir.resolve("members.snapshot");
+
+        assertThat(interleaved.dump(file)).isEqualTo(MEMBERS + 2);
+        deleteAll();
+        assertThat(snapshot.load(file)).isEqualTo(MEMBERS + 2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from team where name = 'late'", Long.class)).isZero();
+    }
+
+    private void deleteAll() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member");
+            jdbcTemplate.update("delete from team");
+            jdbcTemplate.update("delete from team_stats");
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package study.querydsl.snapshot;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.bulk.BulkIngestionService;
+import study.querydsl.bulk.MemberImportRow;
+import study.querydsl.support.MemberFixtures;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.IntStream;
+
+/* 100만 회원 / 1만 팀 데이터 준비 시간
+ * before : 엔티티 persist (JDBC 배치 + flush/clear, BulkIngestionService)
+ * after  : 스냅샷 파일을 메모리 맵으로 읽어서 JDBC 배치 적재 (+ 시퀀스 조정, team_stats 재집계)
+ * ./gradlew benchmark --tests '*SnapshotLoadBenchmarkTest' -Dbench.rows=1000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SnapshotLoadBenchmarkTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    BulkIngestionService bulkIngestionService;
+
+    @Autowired
+    MemberTableSnapshot snapshot;
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    public void after() {
+        deleteAll();
+    }
+
+    @Test
+    public void persistVsSnapshotLoad() throws IOException {
+        int members = MemberFixtures.intProperty("bench.rows", 1_000_000);
+        int teams = MemberFixtures.intProperty("bench.teams", 10_000);
+        Path file = dir.resolve("members.snapshot");
+
+        report("before (entity persist)", members, () -> bulkIngestionService.importMembers(IntStream.range(0, members)
+                .mapToObj(i -> new MemberImportRow("member" + i, i % 100, "team" + (i % teams)))));
+
+        long start = System.nanoTime();
+        snapshot.dump(file);
+        System.out.printf("%-24s %,d bytes in %.1fs%n", "dump", Files.size(file), (System.nanoTime() - start) / 1e9);
+        deleteAll();
+
+        report("after (snapshot load)", members, () -> {
+            try {
+                snapshot.load(file);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private void deleteAll() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member");
+            jdbcTemplate.update("delete from team");
+            jdbcTemplate.update("delete from team_stats");
+        });
+    }
+
+    private static void report(String name, int rows, Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-24s %,d rows in %.1fs = %,.0f rows/sec%n", name, rows, seconds, rows / seconds);
+    }
+}
@@ -0,0 +1,106 @@
+package study.querydsl.stats;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberIdRangeSplitter;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.Arrays;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/* 팀별 통계(having count > 기준) : 단일 group by 쿼리 vs id 구간 병렬 부분 집계
+ * 데이터 크기별, 스레드 수별로 측정 (스레드 수만큼 커넥션을 사용하므로 풀 크기를 함께 늘린다)
+ * ./gradlew benchmark --tests '*ParallelTeamAggregatorBenchmarkTest' -Dbench.sizes=1000000,5000000 -Dbench.threads=1,2,4,8
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.hikari.maximum-pool-size=32")
+class ParallelTeamAggregatorBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberIdRangeSplitter idRangeSplitter;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void after() {
+        deleteFixtures();
+    }
+
+    @Test
+    public void singleQueryVsParallelPartitions() {
+        int[] sizes = intList("bench.sizes", "1000000,5000000");
+        int[] threads = intList("bench.threads", "1,2,4,8");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        for (int size : sizes) {
+            deleteFixtures();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+                MemberFixtures.insertMembers(jdbcTemplate, size, TEAMS);
+            });
+            long minCount = size / TEAMS / 2;
+
+            LatencyRecorder single = new LatencyRecorder("rows=" + size + " single group by");
+            for (int i = 0; i < ITERATIONS; i++) {
+                single.time(() -> readOnly.execute(status -> queryFactory
+                        .select(team.name, member.count(), member.age.sum().longValue(),
+                                member.age.avg(), member.age.min(), member.age.max())
+                        .from(member)
+                        .join(member.team, team)
+                        .groupBy(team.name)
+                        .having(member.count().gt(minCount))
+                        .fetch()));
+            }
+            System.out.println(single.summary());
+
+            for (int threadCount : threads) {
+                ParallelTeamAggregator aggregator = new ParallelTeamAggregator(queryFactory, idRangeSplitter, transactionManager, threadCount);
+                try {
+                    LatencyRecorder parallel = new LatencyRecorder("rows=" + size + " parallel x" + threadCount);
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        parallel.time(() -> aggregator.aggregateByTeam(new MemberSearchCondition(),
+                                stats -> stats.getCount() > minCount));
+                    }
+                    System.out.println(parallel.summary());
+                } finally {
+                    aggregator.destroy();
+                }
+            }
+        }
+    }
+
+    private void deleteFixtures() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    private static int[] intList(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(property, defaultValue).split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+    }
+}
@@ -0,0 +1,101 @@
+package study.querydsl.stats;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* 부분 집계는 별도 스레드/트랜잭션에서 실행되므로 테스트 데이터를 커밋하고 끝나면 지운다. */
+@SpringBootTest
+class ParallelTeamAggregatorTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ParallelTeamAggregator aggregator;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void before() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, 7);
+            MemberFixtures.insertMembers(jdbcTemplate, 1_000, 7);
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+        });
+    }
+
+    @Test
+    public void mergedPartialsMatchSingleGroupBy() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<TeamAgeStatsDto> expected = new TransactionTemplate(transactionManager)
+                .execute(status -> memberQueryRepository.teamAgeStats(condition));
+
+        for (int partitions : new int[]{1, 3, 4, 16}) {
+            assertThat(aggregator.aggregateByTeam(condition, stats -> true, partitions))
+                    .as("partitions=%d", partitions)
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void havingIsAppliedAfterMerge() {
+        MemberSearchCondition condition = new MemberSearchCondition();
+        condition.setAgeGoe(50);
+
+        List<TeamAgeStatsDto> expected = new TransactionTemplate(transactionManager)
+                .execute(status -> memberQueryRepository.teamAgeStats(condition)).stream()
+                .filter(stats -> stats.getCount() > 70)
+                .toList();
+
+        //팀마다 약 71명 : 구간(8개)별 부분 count로 판단했다면 모두 탈락
+        List<TeamAgeStatsDto> result = aggregator.aggregateByTeam(condition, stats -> stats.getCount() > 70, 8);
+
+        assertThat(result).isNotEmpty()
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+    }
+
+    /* 이름이 같은 팀도 따로 집계한다. */
+    @Test
+    public void teamsWithSameNameAreNotMerged() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into team (team_id, name) values (?, ?)", MemberFixtures.BASE_ID + 100, "team0");
+            jdbcTemplate.update("insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+                    MemberFixtures.BASE_ID + 10_000, "sameName", 1, MemberFixtures.BASE_ID + 100);
+        });
+        MemberSearchCondition condition = new MemberSearchCondition();
+        List<TeamAgeStatsDto> expected = new TransactionTemplate(transactionManager)
+                .execute(status -> memberQueryRepository.teamAgeStats(condition));
+
+        assertThat(expected).hasSize(8);
+        assertThat(aggregator.aggregateByTeam(condition, stats -> true, 4))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(expected);
+    }
+}
@@ -0,0 +1,91 @@
+package study.querydsl.stats;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberQueryRepository;
+import study.querydsl.repository.TeamStatsRepository;
+import study.querydsl.support.LatencyRecorder;
+import study.querydsl.support.MemberFixtures;
+
+import static study.querydsl.entity.QMember.member;
+
+/* 대시보드 집계 : member 전체 스캔 vs 미리 집계된 team_stats
+ * 데이터는 JDBC로 바로 넣으므로(증분 반영 없음) 재계산으로 team_stats를 채운 뒤 측정한다. 재계산 시간도 함께 출력
+ * ./gradlew benchmark --tests '*TeamStatsBenchmarkTest' -Dbench.rows=10000000
+ */
+@Tag("benchmark")
+@SpringBootTest
+class TeamStatsBenchmarkTest {
+
+    private static final int TEAMS = 1_000;
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    MemberQueryRepository memberQueryRepository;
+
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    @Autowired
+    TeamStatsReconciler teamStatsReconciler;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void after() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member where member_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team where team_id >= ?", MemberFixtures.BASE_ID);
+            jdbcTemplate.update("delete from team_stats");
+        });
+    }
+
+    @Test
+    public void dashboardAggregation() {
+        int rows = MemberFixtures.intProperty("bench.rows", 10_000_000);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            MemberFixtures.insertTeams(jdbcTemplate, TEAMS);
+            MemberFixtures.insertMembers(jdbcTemplate, rows, TEAMS);
+        });
+
+        long start = System.nanoTime();
+        teamStatsReconciler.reconcileAll();
+        System.out.printf("reconcileAll %,d rows / %,d teams : %.1fs%n", rows, TEAMS, (System.nanoTime() - start) / 1e9);
+
+        LatencyRecorder fullScanTotal = new LatencyRecorder("total (member full scan)");
+        LatencyRecorder preAggregatedTotal = new LatencyRecorder("total (team_stats)");
+        LatencyRecorder fullScanByTeam = new LatencyRecorder("by team (member group by)");
+        LatencyRecorder preAggregatedByTeam = new LatencyRecorder("by team (team_stats)");
+        for (int i = 0; i < ITERATIONS; i++) {
+            fullScanTotal.time(() -> transaction.execute(status -> queryFactory
+                    .select(member.count(), member.age.sum().longValue(), member.age.avg(),
+                            member.age.max(), member.age.min())
+                    .from(member)
+                    .fetchOne()));
+            preAggregatedTotal.time(teamStatsRepository::totalStats);
+            fullScanByTeam.time(() -> memberQueryRepository.teamAgeStats(new MemberSearchCondition()));
+            preAggregatedByTeam.time(teamStatsRepository::teamAgeStats);
+        }
+
+        System.out.println(fullScanTotal.summary());
+        System.out.println(preAggregatedTotal.summary());
+        System.out.println(fullScanByTeam.summary());
+        System.out.println(preAggregatedByTeam.summary());
+    }
+}
@@ -0,0 +1,173 @@
+package study.querydsl.stats;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.TeamAgeStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.entity.TeamStats;
+import study.querydsl.repository.TeamStatsRepository;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* team_stats는 커밋 직전에 반영되므로 테스트 데이터를 커밋하고 끝나면 지운다. */
+@SpringBootTest
+class TeamStatsTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TeamStatsRepository teamStatsRepository;
+
+    @Autowired
+    TeamStatsReconciler teamStatsReconciler;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate transaction;
+    Long teamAId;
+    Long teamBId;
+
+    @BeforeEach
+    public void before() {
+        transaction = new TransactionTemplate(transactionManager);
+        deleteAll();
+        transaction.executeWithoutResult(status -> {
+            Team teamA = new Team("teamA");
+            Team teamB = new Team("teamB");
+            em.persist(teamA);
+            em.persist(teamB);
+            em.persist(new Member("member1", 10, teamA));
+            em.persist(new Member("member2", 20, teamA));
+            em.persist(new Member("member3", 30, teamB));
+            em.persist(new Member("member4", 40, teamB));
+            em.persist(new Member("member5", 50));
+            teamAId = teamA.getId();
+            teamBId = teamB.getId();
+        });
+    }
+
+    @AfterEach
+    public void after() {
+        deleteAll();
+    }
+
+    @Test
+    public void insertsAreAggregated() {
+        assertThat(teamStatsRepository.teamAgeStats())
+                .extracting("teamName", "count", "ageSum", "ageMin", "ageMax")
+                .containsExactly(
+                        tuple("teamA", 2L, 30L, 10, 20),
+                        tuple("teamB", 2L, 70L, 30, 40));
+        assertTotalMatchesFullScan();
+    }
+
+    @Test
+    public void changeTeamMovesMember() {
+        transaction.executeWithoutResult(status -> {
+            Member member1 = findByUsername("member1");
+            member1.changeTeam(em.getReference(Team.class, teamBId));
+        });
+
+        assertThat(teamStatsRepository.teamAgeStats())
+                .extracting("teamName", "count", "ageSum", "ageMin", "ageMax")
+                .containsExactly(
+                        tuple("teamA", 1L, 20L, 20, 20),
+                        tuple("teamB", 3L, 80L, 10, 40));
+        assertTotalMatchesFullScan();
+    }
+
+    /* 최댓값을 가진 회원이 빠지면 커밋 전에 다시 계산해 둔다. (조회 쪽은 쓰지 않음) */
+    @Test
+    public void deleteRefreshesMinMaxBeforeCommit() {
+        transaction.executeWithoutResult(status -> {
+            em.remove(findByUsername("member4"));
+            em.remove(findByUsername("member5"));
+        });
+
+        TeamStats stats = transaction.execute(status -> em.find(TeamStats.class, teamBId));
+        assertThat(stats.getMemberCount()).isEqualTo(1);
+        assertThat(stats.getAgeMax()).isEqualTo(30);
+        assertThat(stats.isMinMaxStale()).isFalse();
+        TeamStats noTeam = transaction.execute(status -> em.find(TeamStats.class, TeamStats.NO_TEAM));
+        assertThat(noTeam.getMemberCount()).isZero();
+        assertThat(noTeam.getAgeMin()).isNull();
+        assertThat(noTeam.isMinMaxStale()).isFalse();
+
+        assertThat(teamStatsRepository.teamAgeStats())
+                .extracting("teamName", "count", "ageMax")
+                .containsExactly(tuple("teamA", 2L, 20), tuple("teamB", 1L, 30));
+        assertTotalMatchesFullScan();
+    }
+
+    @Test
+    public void rollbackDoesNotChangeStats() {
+        transaction.executeWithoutResult(status -> {
+            em.persist(new Member("member6", 60, em.getReference(Team.class, teamAId)));
+            em.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(teamStatsRepository.teamAgeStats())
+                .extracting("count")
+                .containsExactly(2L, 2L);
+    }
+
+    /* 엔티티 이벤트 없이 바뀐 데이터는 재계산으로 맞춘다. */
+    @Test
+    public void reconcileFixesBulkChanges() {
+        transaction.executeWithoutResult(status -> queryFactory.update(member).set(member.age, member.age.add(1)).execute());
+
+        teamStatsReconciler.reconcileAll();
+
+        assertThat(teamStatsRepository.teamAgeStats())
+                .extracting("teamName", "ageSum", "ageMin", "ageMax")
+                .containsExactly(tuple("teamA", 32L, 11, 21), tuple("teamB", 72L, 31, 41));
+        assertTotalMatchesFullScan();
+    }
+
+    /* QuerydslBasicTest.aggregation()의 전체 스캔 결과와 같아야 한다. */
+    private void assertTotalMatchesFullScan() {
+        Tuple expected = transaction.execute(status -> queryFactory
+                .select(member.count(), member.age.sum().longValue(), member.age.avg(), member.age.min(), member.age.max())
+                .from(member)
+                .fetchOne());
+        TeamAgeStatsDto total = teamStatsRepository.totalStats();
+
+        assertThat(total.getCount()).isEqualTo(expected.get(0, Long.class));
+        assertThat(total.getAgeSum()).isEqualTo(expected.get(1, Long.class));
+        assertThat(total.getAgeAvg()).isEqualTo(expected.get(2, Double.class));
+        assertThat(total.getAgeMin()).isEqualTo(expected.get(3, Integer.class));
+        assertThat(total.getAgeMax()).isEqualTo(expected.get(4, Integer.class));
+    }
+
+    private Member findByUsername(String username) {
+        return queryFactory.selectFrom(member).where(member.username.eq(username)).fetchOne();
+    }
+
+    private void deleteAll() {
+        transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("delete from member");
+            jdbcTemplate.update("delete from team");
+            jdbcTemplate.update("delete from team_stats");
+        });
+    }
+}
@@ -0,0 +1,73 @@
+package study.querydsl.streaming;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.support.MemberFixtures;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+
+/* 수백만 건을 스트리밍해도 힙 사용량이 늘지 않는지 확인
+ * ./gradlew benchmark --tests '*QueryStreamerBenchmarkTest' -Dbench.rows=3000000
+ * H2는 LAZY_QUERY_EXECUTION을 켜야 DB 쪽에서도 결과를 한 번에 만들지 않고 fetch size만큼씩 읽는다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:streaming;LAZY_QUERY_EXECUTION=1")
+@Transactional
+class QueryStreamerBenchmarkTest {
+
+    private static final int SAMPLE_EVERY = 250_000;
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    QueryStreamer queryStreamer;
+
+    @Test
+    public void constantHeapWhileStreaming() {
+        int rows = MemberFixtures.intProperty("bench.rows", 3_000_000);
+        MemberFixtures.insertMembers(jdbcTemplate, rows, 0);
+        JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+
+        long baseline = usedHeapAfterGc();
+        long[] maxGrowth = {0};
+        long start = System.nanoTime();
+        long count = queryStreamer.forEach(queryFactory.selectFrom(member), new Consumer<>() {
+            long seen;
+
+            @Override
+            public void accept(Member m) {
+                if (++seen % SAMPLE_EVERY == 0) {
+                    long growth = usedHeapAfterGc() - baseline;
+                    maxGrowth[0] = Math.max(maxGrowth[0], growth);
+                    System.out.printf("rows=%,d heap growth=%,d KB%n", seen, growth / 1024);
+                }
+            }
+        });
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("streamed %,d rows in %.1fs, max heap growth %,d KB%n", count, seconds, maxGrowth[0] / 1024);
+        assertThat(count).isEqualTo(rows);
+        assertThat(maxGrowth[0]).isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,73 @@
+package study.querydsl.streaming;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+@SpringBootTest
+@Transactional
+class QueryStreamerTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    QueryStreamer queryStreamer;
+
+    JPAQueryFactory queryFactory;
+
+    @BeforeEach
+    public void before() {
+        queryFactory = new JPAQueryFactory(em);
+        Team teamA = new Team("teamA");
+        em.persist(teamA);
+        for (int i = 1; i <= 10; i++) {
+            em.persist(new Member("member" + i, i * 10, teamA));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    public void streamDetachesEachRow() {
+        List<Member> streamed = new ArrayList<>();
+        try (Stream<Member> members = queryStreamer.stream(
+                queryFactory.selectFrom(member).orderBy(member.age.asc()), 3)) {
+            members.forEach(m -> {
+                assertThat(em.contains(m)).isTrue();
+                streamed.add(m);
+            });
+        }
+
+        assertThat(streamed).hasSize(10);
+        assertThat(streamed.get(0).getUsername()).isEqualTo("member1");
+        assertThat(streamed).noneMatch(em::contains);
+    }
+
+    @Test
+    public void streamTupleProjection() {
+        long count = queryStreamer.forEach(
+                queryFactory.select(member.username, team.name)
+                        .from(member)
+                        .join(member.team, team)
+                        .where(member.age.goe(50)),
+                (Tuple tuple) -> assertThat(tuple.get(team.name)).isEqualTo("teamA"));
+
+        assertThat(count).isEqualTo(6);
+    }
+}
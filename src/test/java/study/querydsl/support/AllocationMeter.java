@@ -0,0 +1,17 @@
+package study.querydsl.support;
+
+import java.lang.management.ManagementFactory;
+
+/* 현재 스레드가 할당한 바이트 수 (HotSpot 전용) */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.support;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.monitoring.NPlusOneDetector;
+import study.querydsl.monitoring.QueryScope;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/* H2 EXPLAIN으로 실행 계획 확인
+ * 리포지토리 메서드를 실행하면서 나간 select SQL을 모두 잡아서 EXPLAIN 한다.
+ * H2 계획에는 테이블마다 접근 방법이 주석으로 찍힌다.
+ * - 인덱스 조건 : PUBLIC.IDX_MEMBER_USERNAME: USERNAME = ?1 (콜론 뒤에 조건)
+ * - full scan : PUBLIC.MEMBER.tableScan, 또는 조건 없이 인덱스 이름만 (PUBLIC.IDX_MEMBER_AGE_USERNAME, 인덱스 전체를 읽음)
+ * 파라미터는 null로 바인딩한다. (H2는 prepare 시점에 인덱스를 고르므로 값과 무관)
+ */
+public final class ExplainPlans {
+
+    //조건(콜론) 없이 테이블/인덱스 이름만 있는 접근 주석
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\*\\s*\\w+\\.[\\w.]+\\s*\\*/");
+
+    private ExplainPlans() {
+    }
+
+    public static List<String> explainAll(NPlusOneDetector detector, JdbcTemplate jdbcTemplate, Runnable queries) {
+        List<String> statements;
+        try (QueryScope scope = detector.capture()) {
+            queries.run();
+            statements = scope.getStatements();
+        }
+        assertThat(statements).as("실행된 select가 없음").isNotEmpty();
+        return statements.stream()
+                .map(sql -> explain(jdbcTemplate, sql))
+                .toList();
+    }
+
+    /* 실행된 모든 select가 인덱스(또는 PK)로 접근해야 한다. */
+    public static void assertNoFullScan(NPlusOneDetector detector, JdbcTemplate jdbcTemplate, Runnable queries) {
+        for (String plan : explainAll(detector, jdbcTemplate, queries)) {
+            assertThat(isFullScan(plan)).as("full scan 발생%n%s", plan).isFalse();
+        }
+    }
+
+    public static boolean isFullScan(String plan) {
+        return FULL_SCAN.matcher(plan).find();
+    }
+
+    public static String explain(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("explain " + sql)) {
+                int parameterCount = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameterCount; i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.support;
+
+import java.util.Arrays;
+
+/* 벤치마크용 지연시간 기록 (p50/p99) */
+public class LatencyRecorder {
+
+    private final String name;
+    private long[] samples = new long[1024];
+    private int size;
+
+    public LatencyRecorder(String name) {
+        this.name = name;
+    }
+
+    public void time(Runnable task) {
+        long start = System.nanoTime();
+        task.run();
+        record(System.nanoTime() - start);
+    }
+
+    public void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public double percentileMillis(double percentile) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    public String summary() {
+        return String.format("%-32s n=%d p50=%.3fms p99=%.3fms",
+                name, size, percentileMillis(50), percentileMillis(99));
+    }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/* 벤치마크용 대량 데이터 적재
+ * JPA persist를 건별로 호출하면 너무 느려서 JDBC 배치로 바로 넣는다.
+ * 시퀀스로 발급되는 id와 겹치지 않도록 BASE_ID부터 사용한다.
+ */
+public final class MemberFixtures {
+
+    public static final long BASE_ID = 1_000_000_000L;
+    private static final int BATCH_SIZE = 10_000;
+
+    private MemberFixtures() {
+    }
+
+    public static void insertTeams(JdbcTemplate jdbcTemplate, int teamCount) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < teamCount; i++) {
+            batch.add(new Object[]{BASE_ID + i, "team" + i});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into team (team_id, name) values (?, ?)", batch);
+        }
+    }
+
+    /* teamCount가 0이면 팀 없이 넣는다. 나이는 0~99 */
+    public static void insertMembers(JdbcTemplate jdbcTemplate, int memberCount, int teamCount) {
+        String sql = "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < memberCount; i++) {
+            Long teamId = teamCount > 0 ? BASE_ID + (i % teamCount) : null;
+            batch.add(new Object[]{BASE_ID + i, "member" + i, i % 100, teamId});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+
+    public static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}